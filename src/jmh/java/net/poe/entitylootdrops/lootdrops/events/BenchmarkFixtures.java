@@ -0,0 +1,121 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.RequirementType;
+
+/**
+ * Synthetic configurations for the benchmarks.
+ * Only plain drop entries are built; nothing here needs the game registries, a level or an entity,
+ * so the benchmarks run in a bare JVM. Stages that read live game state are not covered.
+ */
+final class BenchmarkFixtures {
+    static final String NORMAL_DROPS_KEY = "Normal Drops";
+    static final String TARGET_ENTITY = "minecraft:zombie";
+    static final int EVENT_COUNT = 8;
+
+    // The target entity gets one in this many entity drops, the rest go to other entity types
+    private static final int ENTITY_TYPES = 64;
+    private static final String[] ITEM_IDS = {
+            "minecraft:diamond", "minecraft:emerald", "minecraft:iron_ingot",
+            "minecraft:gold_ingot", "minecraft:bone", "minecraft:rotten_flesh"
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds the entity drops of a configuration with the given number of normal drops, keyed by directory.
+     * Every event gets an eighth as many drops.
+     */
+    static Map<String, List<EntityDropEntry>> entityDropsByDir(int entries) {
+        Map<String, List<EntityDropEntry>> drops = new HashMap<>();
+        drops.put(NORMAL_DROPS_KEY, entityDrops(entries, 0));
+        int eventEntries = Math.max(1, entries / EVENT_COUNT);
+        for (int event = 1; event <= EVENT_COUNT; event++) {
+            drops.put(eventName(event), entityDrops(eventEntries, event));
+        }
+        return drops;
+    }
+
+    /**
+     * Builds the hostile drops of the same configuration, one in {@value #ENTITY_TYPES} entries of each directory.
+     */
+    static Map<String, List<CustomDropEntry>> hostileDropsByDir(int entries) {
+        Map<String, List<CustomDropEntry>> drops = new HashMap<>();
+        drops.put(NORMAL_DROPS_KEY, hostileDrops(entries, 0));
+        int eventEntries = Math.max(1, entries / EVENT_COUNT);
+        for (int event = 1; event <= EVENT_COUNT; event++) {
+            drops.put(eventName(event), hostileDrops(eventEntries, event));
+        }
+        return drops;
+    }
+
+    /**
+     * Gets the normal drops that apply to the target entity, as a death of it would process them.
+     */
+    static List<CustomDropEntry> targetDrops(Map<String, List<EntityDropEntry>> entityDrops,
+                                             Map<String, List<CustomDropEntry>> hostileDrops) {
+        List<CustomDropEntry> drops = new ArrayList<>();
+        for (EntityDropEntry drop : entityDrops.get(NORMAL_DROPS_KEY)) {
+            if (TARGET_ENTITY.equals(drop.getEntityId())) {
+                drops.add(drop);
+            }
+        }
+        drops.addAll(hostileDrops.get(NORMAL_DROPS_KEY));
+        return drops;
+    }
+
+    /**
+     * Gives a quarter of the checks each requirement order has, from none to three.
+     */
+    static RequirementType[] requirementOrder(int variant) {
+        switch (variant % 4) {
+            case 1: return new RequirementType[]{RequirementType.WEATHER};
+            case 2: return new RequirementType[]{RequirementType.DIMENSION, RequirementType.BIOME};
+            case 3: return new RequirementType[]{RequirementType.EQUIPMENT, RequirementType.TIME, RequirementType.EFFECT};
+            default: return new RequirementType[0];
+        }
+    }
+
+    /**
+     * Weights of a loot group with the given number of items, heavier towards the first ones.
+     */
+    static double[] groupWeights(int items) {
+        double[] weights = new double[items];
+        for (int i = 0; i < items; i++) {
+            weights[i] = items - i;
+        }
+        return weights;
+    }
+
+    private static String eventName(int event) {
+        return "bench_event_" + event;
+    }
+
+    private static List<EntityDropEntry> entityDrops(int count, int seed) {
+        List<EntityDropEntry> drops = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String entityId = i % ENTITY_TYPES == 0 ? TARGET_ENTITY : "entitylootdrops_bench:mob_" + (i % ENTITY_TYPES);
+            EntityDropEntry drop = new EntityDropEntry(entityId, ITEM_IDS[(i + seed) % ITEM_IDS.length], 50.0f, 1, 3);
+            drop.setOrdinal(seed * 1_000_003 + i);
+            drops.add(drop);
+        }
+        return drops;
+    }
+
+    private static List<CustomDropEntry> hostileDrops(int count, int seed) {
+        List<CustomDropEntry> drops = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, count / ENTITY_TYPES); i++) {
+            CustomDropEntry drop = new CustomDropEntry(ITEM_IDS[(i + seed) % ITEM_IDS.length], 25.0f, 1, 2);
+            drop.setOrdinal(-(seed * 1_000_003 + i) - 1);
+            drops.add(drop);
+        }
+        return drops;
+    }
+}
@@ -0,0 +1,145 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.poe.entitylootdrops.lootdrops.config.DropIndex;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.RequirementStats;
+import net.poe.entitylootdrops.lootdrops.model.RequirementType;
+import net.poe.entitylootdrops.util.AliasTable;
+import net.poe.entitylootdrops.util.BinomialSampler;
+
+/**
+ * Benchmarks the parts of the drop engine that do not need a running game, against synthetic configurations.
+ * Each configuration has the given number of normal entity drops spread over 64 entity types, plus eight events.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DropEngineBenchmark {
+    // Kills evaluated at once by the batch benchmark
+    private static final int BATCH_KILLS = 64;
+    private static final int GROUP_ITEMS = 16;
+    private static final int REORDER_INTERVAL = 256;
+
+    @Param({"10", "1000", "50000"})
+    public int entries;
+
+    @Param({"false", "true"})
+    public boolean deterministic;
+
+    private Map<String, List<EntityDropEntry>> entityDrops;
+    private Map<String, List<CustomDropEntry>> hostileDrops;
+    private List<CustomDropEntry> targetDrops;
+    private List<RequirementStats> requirementStats;
+    private AliasTable groupTable;
+    private UUID victimId;
+    private int evaluation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DropRng.setDeterministic(deterministic);
+        entityDrops = BenchmarkFixtures.entityDropsByDir(entries);
+        hostileDrops = BenchmarkFixtures.hostileDropsByDir(entries);
+        targetDrops = BenchmarkFixtures.targetDrops(entityDrops, hostileDrops);
+
+        requirementStats = new ArrayList<>(targetDrops.size());
+        for (int i = 0; i < targetDrops.size(); i++) {
+            requirementStats.add(new RequirementStats(BenchmarkFixtures.requirementOrder(i)));
+        }
+        groupTable = new AliasTable(BenchmarkFixtures.groupWeights(GROUP_ITEMS));
+        victimId = new UUID(0x454C44L, 42L);
+    }
+
+    /**
+     * Builds the drop index of the configuration, as every reload does.
+     */
+    @Benchmark
+    public DropIndex indexBuilding() {
+        return DropIndex.build(entityDrops, hostileDrops, BenchmarkFixtures.NORMAL_DROPS_KEY);
+    }
+
+    /**
+     * Rolls the chance and amount of every drop that applies to one death of the target entity.
+     */
+    @Benchmark
+    public int dropRolls() {
+        int dropped = 0;
+        for (CustomDropEntry drop : targetDrops) {
+            RandomGenerator random = DropRng.forEntry(null, victimId, drop.getOrdinal(), DropRng.DROP_STREAM);
+            if (random.nextFloat() * 100 <= drop.getDropChance()) {
+                dropped += drop.getMinAmount() + random.nextInt(drop.getMaxAmount() - drop.getMinAmount() + 1);
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Rolls the drops of {@value #BATCH_KILLS} deaths of the target entity at once, as the batch evaluator does.
+     */
+    @Benchmark
+    public long batchRolls() {
+        long dropped = 0;
+        for (CustomDropEntry drop : targetDrops) {
+            RandomGenerator random = DropRng.forEntry(null, victimId, drop.getOrdinal(), DropRng.DROP_STREAM);
+            int successes = BinomialSampler.binomial(random, BATCH_KILLS, drop.getDropChance() / 100.0);
+            dropped += BinomialSampler.uniformSum(random, successes, drop.getMinAmount(), drop.getMaxAmount());
+        }
+        return dropped;
+    }
+
+    /**
+     * Records requirement outcomes for every drop of one death and reorders the checks when they are due.
+     */
+    @Benchmark
+    public void requirementBookkeeping(Blackhole blackhole) {
+        int salt = evaluation++;
+        for (RequirementStats stats : requirementStats) {
+            for (RequirementType type : stats.getOrder()) {
+                boolean met = ((salt + type.ordinal()) & 3) != 0;
+                stats.record(type, met);
+                if (!met) {
+                    break;
+                }
+            }
+            if (stats.countEvaluation(REORDER_INTERVAL)) {
+                stats.reorder(new double[]{15.0, 40.0, 60.0, 20.0, 20.0, 10.0, 150.0});
+            }
+        }
+        blackhole.consume(salt);
+    }
+
+    /**
+     * Picks an item of a {@value #GROUP_ITEMS} item loot group once per drop of one death.
+     */
+    @Benchmark
+    public void groupPicks(Blackhole blackhole) {
+        RandomGenerator random = DropRng.current();
+        for (int i = 0; i < targetDrops.size(); i++) {
+            blackhole.consume(groupTable.sample(random));
+        }
+    }
+}
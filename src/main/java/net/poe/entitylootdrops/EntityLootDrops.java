@@ -17,6 +17,10 @@ import net.minecraftforge.fml.loading.FMLEnvironment;
 import net.poe.entitylootdrops.config.ModConfig;
 import net.poe.entitylootdrops.gui.ConfigScreen;
 import net.poe.entitylootdrops.lootdrops.LootConfig;
+import net.poe.entitylootdrops.lootdrops.config.EventConfig;
+import net.poe.entitylootdrops.lootdrops.events.AdvancementCache;
+import net.poe.entitylootdrops.lootdrops.events.CommandCooldownStore;
+import net.poe.entitylootdrops.lootdrops.events.CommandQueue;
 import net.poe.entitylootdrops.lootdrops.events.LootEventHandler;
 
 
@@ -114,7 +118,14 @@ public class EntityLootDrops {
         // Reload configuration when the server starts
         // This ensures any changes made to the config files are applied
         LootConfig.loadConfig();
+        LootConfig.startConfigWatcher(event.getServer());
 
+        // Cooldowns from an earlier world must not carry over unless they are persisted
+        if (EventConfig.isPersistCommandCooldowns()) {
+            CommandCooldownStore.load(event.getServer().getTickCount());
+        } else {
+            CommandCooldownStore.clear();
+        }
 
         // Log debug information about the loaded configuration
         LOGGER.info("Loaded {} normal drops", LootConfig.getNormalDrops().size());
@@ -133,6 +144,15 @@ public class EntityLootDrops {
     @SubscribeEvent
     public void onServerStopping(ServerStoppingEvent event) {
         LOGGER.info("Server stopping - saving persistent data...");
+        LootConfig.stopConfigWatcher();
+
+        // Run drop commands that are still waiting for a tick so no reward is lost
+        CommandQueue.flush(event.getServer());
+
+        if (EventConfig.isPersistCommandCooldowns()) {
+            CommandCooldownStore.save(event.getServer().getTickCount());
+        }
+        AdvancementCache.invalidate();
         LOGGER.info("Server shutdown complete");
     }
 
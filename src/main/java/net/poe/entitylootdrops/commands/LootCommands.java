@@ -1,5 +1,7 @@
 package net.poe.entitylootdrops.commands;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 
@@ -15,14 +17,30 @@ import net.minecraft.commands.Commands;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.registries.ForgeRegistries;
 import net.poe.entitylootdrops.EntityLootDrops;
 import net.poe.entitylootdrops.config.ModConfig;
 import net.poe.entitylootdrops.lootdrops.LootConfig;
+import net.poe.entitylootdrops.lootdrops.config.EventConfig;
+import net.poe.entitylootdrops.lootdrops.events.AdvancementCache;
+import net.poe.entitylootdrops.lootdrops.events.CommandCooldownStore;
+import net.poe.entitylootdrops.lootdrops.events.CommandQueue;
+import net.poe.entitylootdrops.lootdrops.events.CommandRunner;
+import net.poe.entitylootdrops.lootdrops.events.DropEmitter;
+import net.poe.entitylootdrops.lootdrops.events.DropRng;
+import net.poe.entitylootdrops.lootdrops.events.DropStats;
 import net.poe.entitylootdrops.lootdrops.events.EventDropCountManager;
+import net.poe.entitylootdrops.lootdrops.events.RequirementEvaluator;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.RequirementStats;
+import net.poe.entitylootdrops.lootdrops.model.RequirementType;
+import net.poe.entitylootdrops.util.LatencyHistogram;
 
 /**
  * Command handler for the EntityLootDrops mod.
@@ -270,8 +288,133 @@ public class LootCommands {
                     context.getSource().sendSuccess(() ->
                             Component.literal("§eEvents with Drop_Count.json: §f" + String.join(", ", eventsWithCounts)), false);
 
+                    // Item entities avoided by merging drops into shared stacks
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eItem entities saved by merging: §f" + DropEmitter.getSavedLastTick()
+                                    + " §7last tick, §f" + DropEmitter.getSavedPeakTick()
+                                    + " §7peak tick, §f" + DropEmitter.getSavedTotal() + " §7total"), false);
+
+                    // Reuse of parsed drop commands
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eCommand parse cache: §f" + CommandRunner.getCacheSize()
+                                    + " §7entries, §f" + CommandRunner.getCacheHits() + " §7hits, §f"
+                                    + CommandRunner.getCacheMisses() + " §7misses"), false);
+
+                    // Running command cooldowns
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eCommand cooldowns: §f" + CommandCooldownStore.size()
+                                    + " §7running for §f" + CommandCooldownStore.getPlayerCount() + " §7players"), false);
+
+                    // Cached advancement completion used by requiredAdvancement
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eAdvancement cache: §f" + AdvancementCache.getTrackedCount()
+                                    + " §7advancements for §f" + AdvancementCache.getPlayerCount() + " §7players"), false);
+
+                    return 1;
+                })
+        );
+
+        // Drop RNG mode - /lootdrops rng [deterministic <true|false>]
+        // Deterministic mode seeds every roll from the world seed, entity UUID and entry, so kills can be replayed
+        rootCommand.then(Commands.literal("rng")
+                .executes(context -> {
+                    boolean deterministic = DropRng.isDeterministic();
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eDrop RNG mode: " + (deterministic ? "§bdeterministic" : "§aper-thread random")), false);
+                    return 1;
+                })
+                .then(Commands.literal("deterministic")
+                        .then(Commands.argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    DropRng.setDeterministic(enabled);
+
+                                    if (enabled) {
+                                        context.getSource().sendSuccess(() ->
+                                                Component.literal("§aEnabled deterministic drop rolls - §eThe same kill always rolls the same"), true);
+                                    } else {
+                                        context.getSource().sendSuccess(() ->
+                                                Component.literal("§cDisabled deterministic drop rolls"), true);
+                                    }
+                                    return 1;
+                                })
+                        )
+                )
+        );
+
+        // Requirement order debug command - /lootdrops requirements [count]
+        // Shows the order each entry currently checks its requirements in, with pass rates
+        rootCommand.then(Commands.literal("requirements")
+                .executes(context -> showRequirementOrder(context, 10))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, 50))
+                        .executes(context -> {
+                            int count = IntegerArgumentType.getInteger(context, "count");
+                            return showRequirementOrder(context, count);
+                        })
+                )
+        );
+
+        // Hot path statistics - /lootdrops stats [reset | enabled <true|false>]
+        // Shows per-phase timings of the death handler and the most expensive entity types
+        rootCommand.then(Commands.literal("stats")
+                .executes(LootCommands::showDropStats)
+                .then(Commands.literal("reset")
+                        .executes(context -> {
+                            DropStats.reset();
+                            context.getSource().sendSuccess(() ->
+                                    Component.literal("§aReset drop statistics"), true);
+                            return 1;
+                        })
+                )
+                .then(Commands.literal("enabled")
+                        .then(Commands.argument("enabled", BoolArgumentType.bool())
+                                .executes(context -> {
+                                    boolean enabled = BoolArgumentType.getBool(context, "enabled");
+                                    DropStats.setEnabled(enabled);
+
+                                    if (enabled) {
+                                        context.getSource().sendSuccess(() ->
+                                                Component.literal("§aEnabled drop statistics - §eView them with /lootdrops stats"), true);
+                                    } else {
+                                        context.getSource().sendSuccess(() ->
+                                                Component.literal("§cDisabled drop statistics"), true);
+                                    }
+                                    return 1;
+                                })
+                        )
+                )
+        );
+
+        // Deferred command queue - /lootdrops commandqueue [reset]
+        // Shows how many drop commands are waiting and how long they waited before running
+        rootCommand.then(Commands.literal("commandqueue")
+                .executes(context -> {
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§6=== Drop Command Queue ==="), false);
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eDeferred: " + (EventConfig.isDeferCommands() ? "§aON" : "§cOFF")
+                                    + " §7(max §f" + EventConfig.getMaxCommandsPerTick() + " §7per tick, budget §f"
+                                    + EventConfig.getCommandTickBudgetMs() + "ms§7)"), false);
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eDepth: §f" + CommandQueue.getDepth() + " §7now, §f"
+                                    + CommandQueue.getPeakDepth() + " §7peak"), false);
+                    context.getSource().sendSuccess(() ->
+                            Component.literal("§eExecuted: §f" + CommandQueue.getExecutedTotal()
+                                    + " §7commands, carried over on §f" + CommandQueue.getCarriedTicks() + " §7ticks"), false);
+                    context.getSource().sendSuccess(() ->
+                            Component.literal(String.format("§eLatency: §f%.2fms §7average, §f%.2fms §7max",
+                                    CommandQueue.getAverageLatencyNanos() / 1_000_000.0,
+                                    CommandQueue.getMaxLatencyNanos() / 1_000_000.0)), false);
                     return 1;
                 })
+                .then(Commands.literal("reset")
+                        .executes(context -> {
+                            CommandQueue.resetStats();
+                            context.getSource().sendSuccess(() ->
+                                    Component.literal("§aReset drop command queue statistics"), true);
+                            return 1;
+                        })
+                )
         );
 
         // List active events subcommand - /lootdrops active_events
@@ -389,26 +532,187 @@ public class LootCommands {
         // Reload configuration subcommand - /lootdrops reload
         rootCommand.then(Commands.literal("reload")
                 .executes(context -> {
-                    // Reload the configuration
-                    LootConfig.loadConfig();
-
-                    // Sync changes to Forge config
-                    boolean syncSuccess = ModConfig.syncFromLootConfig();
-                    if (!syncSuccess) {
-                        context.getSource().sendFailure(Component.literal("Warning: Config sync failed. Changes may not persist after restart."));
-                    }
+                    CommandSourceStack source = context.getSource();
+                    source.sendSuccess(() ->
+                            Component.literal("§eReloading Entity Loot Drops configuration..."), false);
+
+                    // Files are read in the background; the result is published and reported on the server thread
+                    LootConfig.reloadConfigAsync(source.getServer(), (millis, error) -> {
+                        if (error != null) {
+                            source.sendFailure(Component.literal("Failed to reload configuration: " + error.getMessage()));
+                            return;
+                        }
+                        afterReload(source);
 
-                    // Send success message to the command sender
-                    context.getSource().sendSuccess(() ->
-                            Component.literal("§aReloaded Entity Loot Drops configuration"), true);
+                        // Send success message to the command sender
+                        source.sendSuccess(() ->
+                                Component.literal("§aReloaded Entity Loot Drops configuration §7(" + millis + " ms)"), true);
+                    });
                     return 1; // Command succeeded
                 })
         );
 
+        // Rebuild binary drop cache subcommand - /lootdrops cache rebuild
+        rootCommand.then(Commands.literal("cache")
+                .then(Commands.literal("rebuild")
+                        .executes(context -> {
+                            CommandSourceStack source = context.getSource();
+                            source.sendSuccess(() -> Component.literal("§eRebuilding drop cache..."), false);
+
+                            // Rebuilt and reloaded in the background like /lootdrops reload
+                            LootConfig.rebuildDropCacheAsync(source.getServer(), (millis, error) -> {
+                                if (error != null) {
+                                    source.sendFailure(Component.literal("Failed to rebuild drop cache: " + error.getMessage()));
+                                    return;
+                                }
+                                afterReload(source);
+
+                                long coldMillis = LootConfig.getLastDropLoadMillis();
+                                long warmMillis = LootConfig.getLastCacheReadMillis();
+                                if (warmMillis < 0) {
+                                    source.sendFailure(Component.literal(
+                                            "Reloaded from JSON in " + coldMillis + " ms, but the drop cache could not be written or read. See the log."));
+                                    return;
+                                }
+                                source.sendSuccess(() ->
+                                        Component.literal("§aRebuilt drop cache: §eJSON §f" + coldMillis
+                                                + " ms§e, cache §f" + warmMillis + " ms"), true);
+                            });
+                            return 1;
+                        })
+                )
+        );
+
         // Register the command with the dispatcher
         dispatcher.register(rootCommand);
     }
 
+    /**
+     * Restarts the config watcher and syncs the Forge config after a reload was published.
+     */
+    private static void afterReload(CommandSourceStack source) {
+        LootConfig.startConfigWatcher(source.getServer());
+
+        // Sync changes to Forge config
+        boolean syncSuccess = ModConfig.syncFromLootConfig();
+        if (!syncSuccess) {
+            source.sendFailure(Component.literal("Warning: Config sync failed. Changes may not persist after restart."));
+        }
+    }
+
+    /**
+     * Shows the requirement check order of the most evaluated drop entries.
+     */
+    private static int showRequirementOrder(CommandContext<CommandSourceStack> context, int count) {
+        List<CustomDropEntry> drops = new ArrayList<>();
+        for (CustomDropEntry drop : LootConfig.getSnapshot().getAllDrops()) {
+            if (drop.getResolved() != null && drop.getResolved().getRequirementStats().getOrder().length > 0) {
+                drops.add(drop);
+            }
+        }
+
+        if (drops.isEmpty()) {
+            context.getSource().sendFailure(Component.literal("§cNo drop entries with requirements are loaded"));
+            return 0;
+        }
+
+        drops.sort(Comparator.comparingLong(
+                (CustomDropEntry drop) -> drop.getResolved().getRequirementStats().getTotalEvaluations()).reversed());
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("§6=== Requirement Check Order ==="), false);
+
+        // Cost estimates shared by all entries
+        StringBuilder costs = new StringBuilder("§eCost estimates: ");
+        for (RequirementType type : RequirementType.all()) {
+            costs.append("§f").append(type.name().toLowerCase()).append(" §7")
+                    .append(String.format("%.0fns ", RequirementEvaluator.getCostEstimate(type)));
+        }
+        context.getSource().sendSuccess(() -> Component.literal(costs.toString()), false);
+
+        for (CustomDropEntry drop : drops.subList(0, Math.min(count, drops.size()))) {
+            RequirementStats stats = drop.getResolved().getRequirementStats();
+
+            StringBuilder line = new StringBuilder("§a");
+            if (drop.hasGroup()) {
+                line.append("group of ").append(drop.getGroup().getItems().size());
+            } else {
+                line.append(drop.hasItem() ? drop.getItemId() : drop.getCommand());
+            }
+            if (drop instanceof EntityDropEntry) {
+                line.append(" §7(").append(((EntityDropEntry) drop).getEntityId()).append(")");
+            }
+            line.append(" §7x").append(stats.getTotalEvaluations()).append("§f: ");
+
+            RequirementType[] order = stats.getOrder();
+            for (int i = 0; i < order.length; i++) {
+                if (i > 0) {
+                    line.append(" §7> ");
+                }
+                line.append("§f").append(order[i].name().toLowerCase());
+                if (stats.getEvaluated(order[i]) > 0) {
+                    line.append(String.format(" §b%.0f%%", stats.getPassRate(order[i]) * 100));
+                }
+            }
+
+            context.getSource().sendSuccess(() -> Component.literal(line.toString()), false);
+        }
+
+        context.getSource().sendSuccess(() ->
+                Component.literal("§7§o(Percentages are the pass rate of each check)"), false);
+        return 1;
+    }
+
+    /**
+     * Shows the per-phase timings of the death handler and the entity types that cost the most.
+     */
+    private static int showDropStats(CommandContext<CommandSourceStack> context) {
+        if (!DropStats.isEnabled()) {
+            context.getSource().sendFailure(Component.literal("§cDrop statistics are disabled - §eUse /lootdrops stats enabled true"));
+            return 0;
+        }
+
+        long deaths = DropStats.getPhase(DropStats.Phase.TOTAL).getCount();
+        double seconds = DropStats.getRecordingNanos() / 1_000_000_000.0;
+        context.getSource().sendSuccess(() ->
+                Component.literal(String.format("§6=== Drop Statistics §7(%d deaths in %.0fs)§6 ===", deaths, seconds)), false);
+
+        for (DropStats.Phase phase : DropStats.Phase.values()) {
+            LatencyHistogram histogram = DropStats.getPhase(phase);
+            context.getSource().sendSuccess(() ->
+                    Component.literal(String.format("§e%s: §fp50 %s §7| §fp99 %s §7| §fmax %s §7| §ftotal %s",
+                            phase.getDisplayName(), formatNanos(histogram.getPercentile(0.5)),
+                            formatNanos(histogram.getPercentile(0.99)), formatNanos(histogram.getMax()),
+                            formatNanos(histogram.getTotalNanos()))), false);
+        }
+
+        List<DropStats.EntityStats> entities = DropStats.getTopEntities(10);
+        if (!entities.isEmpty()) {
+            context.getSource().sendSuccess(() -> Component.literal("§6Most expensive entity types:"), false);
+        }
+        for (DropStats.EntityStats stats : entities) {
+            ResourceLocation typeId = ForgeRegistries.ENTITY_TYPES.getKey(stats.getType());
+            context.getSource().sendSuccess(() ->
+                    Component.literal(String.format("§a%s §7x%d§f: %s total, %d/%d entries matched, %d items, %d entities",
+                            typeId, stats.getDeaths(), formatNanos(stats.getTotalNanos()), stats.getEntriesMatched(),
+                            stats.getEntriesEvaluated(), stats.getItemsQueued(), stats.getEntitiesSpawned())), false);
+        }
+        return 1;
+    }
+
+    /**
+     * Formats a duration with a unit that keeps it short.
+     */
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format("%.1fµs", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
     // HELPER METHODS FOR DROP COUNT COMMANDS
 
     /**
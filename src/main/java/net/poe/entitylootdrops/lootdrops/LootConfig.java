@@ -1,5 +1,6 @@
 package net.poe.entitylootdrops.lootdrops;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -10,9 +11,20 @@ import java.util.UUID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.poe.entitylootdrops.lootdrops.config.ActiveDropPlan;
+import net.poe.entitylootdrops.lootdrops.config.ConfigReloader;
+import net.poe.entitylootdrops.lootdrops.config.ConfigWatcher;
+import net.poe.entitylootdrops.lootdrops.config.DropIndex;
+import net.poe.entitylootdrops.lootdrops.config.EventConfig;
 import net.poe.entitylootdrops.lootdrops.config.LootConfigLoader;
 import net.poe.entitylootdrops.lootdrops.config.LootConfigManager;
+import net.poe.entitylootdrops.lootdrops.config.LootConfigSnapshot;
+import net.poe.entitylootdrops.lootdrops.events.BatchDropEvaluator;
 import net.poe.entitylootdrops.lootdrops.events.LootEventManager;
 import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
 import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry; // FIXED: removed extra semicolon
@@ -27,11 +39,14 @@ public class LootConfig {
     private static LootConfigManager configManager;
     private static LootEventManager eventManager;
     private static LootConfigLoader configLoader;
+    private static ConfigWatcher configWatcher;
+    private static ConfigReloader configReloader;
 
     static {
         configManager = new LootConfigManager();
         eventManager = new LootEventManager();
         configLoader = new LootConfigLoader(configManager, eventManager);
+        configReloader = new ConfigReloader(configLoader);
     }
 
     /**
@@ -39,11 +54,92 @@ public class LootConfig {
      */
     public static void loadConfig() {
         configLoader.loadConfig();
+        logLoadedConfig();
+    }
+
+    /**
+     * Loads all configuration files on a background thread and publishes them on the server thread.
+     * Reloads requested while one is running are coalesced into a single follow-up reload.
+     *
+     * @param callback called on the server thread once the reload is published or has failed
+     */
+    public static void reloadConfigAsync(MinecraftServer server, ConfigReloader.Callback callback) {
+        configReloader.reload(server, (millis, error) -> {
+            if (error == null) {
+                logLoadedConfig();
+            }
+            callback.done(millis, error);
+        });
+    }
+
+    private static void logLoadedConfig() {
         LOGGER.info("Reloaded configuration: {} entity drop types, {} hostile drop types, {} active events",
                 configManager.getEntityDropsCount(), configManager.getHostileDropsCount(),
                 eventManager.getActiveEventsCount());
     }
 
+    /**
+     * Rebuilds the binary drop cache from the JSON files and reloads the configuration, like {@link #reloadConfigAsync}.
+     *
+     * @param callback called on the server thread once the reload is published or has failed
+     */
+    public static void rebuildDropCacheAsync(MinecraftServer server, ConfigReloader.Callback callback) {
+        configReloader.rebuildCache(server, (millis, error) -> {
+            if (error == null) {
+                logLoadedConfig();
+            }
+            callback.done(millis, error);
+        });
+    }
+
+    /**
+     * Gets the time the last cache rebuild took to read the new cache, in milliseconds, or -1 if it could not be read.
+     */
+    public static long getLastCacheReadMillis() {
+        return configLoader.getLastCacheReadMillis();
+    }
+
+    /**
+     * Gets the time the last full load spent on drop files, in milliseconds.
+     */
+    public static long getLastDropLoadMillis() {
+        return configLoader.getLastDropLoadMillis();
+    }
+
+    /**
+     * Starts reloading changed drop files automatically, if it is enabled in the event config.
+     */
+    public static void startConfigWatcher(MinecraftServer server) {
+        stopConfigWatcher();
+        if (!EventConfig.isWatchConfigFiles()) {
+            return;
+        }
+        try {
+            configWatcher = ConfigWatcher.start(configLoader, server);
+        } catch (IOException e) {
+            LOGGER.error("Failed to watch drop files for changes", e);
+        }
+    }
+
+    /**
+     * Stops reloading changed drop files automatically.
+     */
+    public static void stopConfigWatcher() {
+        if (configWatcher != null) {
+            configWatcher.stop();
+            configWatcher = null;
+        }
+    }
+
+    /**
+     * Re-resolves all loaded drop entries, rebuilds their cached item stacks and expands
+     * entity tags and wildcards again. Used when registries or tags are reloaded without a config reload.
+     */
+    public static void refreshResolvedDrops() {
+        configLoader.resolveDrops();
+        configManager.refreshEntityDrops(eventManager.getActiveEvents());
+    }
+
     /**
      * Gets the normal (always active) entity-specific drops.
      */
@@ -65,6 +161,56 @@ public class LootConfig {
         return configManager.getEventDrops();
     }
 
+    /**
+     * Gets the currently published configuration snapshot.
+     */
+    public static LootConfigSnapshot getSnapshot() {
+        return configManager.getSnapshot();
+    }
+
+    /**
+     * Gets the drop plan for the current configuration and active events.
+     */
+    public static ActiveDropPlan getActivePlan() {
+        return configManager.getActivePlan();
+    }
+
+    /**
+     * Evaluates the custom drops of many kills of the same entity type at once.
+     * Intended for mob stacking and grinders; cost does not grow with the number of kills.
+     * Server thread only. Deterministic rolls are seeded by the level's game time, so batches of the
+     * same type in the same tick roll alike; use the overload with a seed to tell them apart.
+     *
+     * @return the dropped items, merged into as few stacks as possible
+     */
+    public static List<ItemStack> evaluateDrops(EntityType<?> type, int count, Player killer, ServerLevel level) {
+        return BatchDropEvaluator.evaluateDrops(type, count, killer, level, level != null ? level.getGameTime() : 0L);
+    }
+
+    /**
+     * Evaluates the custom drops of many kills of the same entity type at once, with deterministic rolls
+     * seeded by the caller, for example from the id of the stacked mob. Server thread only.
+     *
+     * @return the dropped items, merged into as few stacks as possible
+     */
+    public static List<ItemStack> evaluateDrops(EntityType<?> type, int count, Player killer, ServerLevel level, long seed) {
+        return BatchDropEvaluator.evaluateDrops(type, count, killer, level, seed);
+    }
+
+    /**
+     * Gets the per-entity drop index built at load time.
+     */
+    public static DropIndex getDropIndex() {
+        return configManager.getDropIndex();
+    }
+
+    /**
+     * Gets the directory key of the normal (always active) drops.
+     */
+    public static String getNormalDropsKey() {
+        return LootConfigManager.getNormalDropsKey();
+    }
+
     /**
      * Gets the hostile mob drops for a specific event.
      */
@@ -84,6 +230,7 @@ public class LootConfig {
      */
     public static void toggleEvent(String eventName, boolean active) {
         eventManager.toggleEvent(eventName, active, configManager.getAvailableEvents());
+        configManager.updateActiveEvents(eventManager.getActiveEvents());
     }
 
     /**
@@ -108,6 +255,7 @@ public class LootConfig {
      */
     public static void clearActiveEvents() {
         eventManager.clearActiveEvents();
+        configManager.updateActiveEvents(eventManager.getActiveEvents());
     }
 
     /**
@@ -0,0 +1,167 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.entity.EntityType;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+
+/**
+ * The drop entries that apply under the currently active events, merged per entity type in processing order.
+ * Built whenever the configuration is published or an event is toggled, so the death path
+ * never has to look up events or combine lists itself.
+ */
+public final class ActiveDropPlan {
+    public static final ActiveDropPlan EMPTY = build(LootConfigSnapshot.EMPTY, EntityDropTable.EMPTY, Collections.emptySet());
+
+    private static final String NORMAL_EVENT_NAME = "Normal";
+
+    private final LootConfigSnapshot snapshot;
+    private final List<String> activeEventKeys;
+    private final Map<EntityType<?>, EntityPlan> entityPlans;
+    private final EntityPlan defaultPlan;
+
+    private ActiveDropPlan(LootConfigSnapshot snapshot, List<String> activeEventKeys,
+                           Map<EntityType<?>, EntityPlan> entityPlans, EntityPlan defaultPlan) {
+        this.snapshot = snapshot;
+        this.activeEventKeys = activeEventKeys;
+        this.entityPlans = entityPlans;
+        this.defaultPlan = defaultPlan;
+    }
+
+    /**
+     * Builds the plan for a configuration, its expanded entity drops and a set of active event names.
+     * Each entity type's list keeps the order the drops were always processed in: normal entity drops,
+     * normal hostile drops, then for each active event its entity drops followed by its hostile drops.
+     */
+    public static ActiveDropPlan build(LootConfigSnapshot snapshot, EntityDropTable entityDrops, Set<String> activeEvents) {
+        DropIndex index = snapshot.getDropIndex();
+
+        // Only events that have drops matter; sort them so the processing order is stable
+        Set<String> eventKeys = new TreeSet<>();
+        for (String eventName : activeEvents) {
+            String eventKey = index.findEventKey(eventName);
+            if (eventKey != null) {
+                eventKeys.add(eventKey);
+            }
+        }
+        List<String> activeEventKeys = List.copyOf(eventKeys);
+
+        Map<EntityType<?>, EntityPlan> entityPlans = new Reference2ObjectOpenHashMap<>(entityDrops.size());
+        for (EntityType<?> type : entityDrops.getTypes()) {
+            entityPlans.put(type, buildEntityPlan(index, entityDrops.forType(type), activeEventKeys));
+        }
+        EntityPlan defaultPlan = buildEntityPlan(index, EntityDropTable.EntityDrops.NONE, activeEventKeys);
+
+        return new ActiveDropPlan(snapshot, activeEventKeys, entityPlans, defaultPlan);
+    }
+
+    private static EntityPlan buildEntityPlan(DropIndex index, EntityDropTable.EntityDrops entityDrops, List<String> activeEventKeys) {
+        List<PlannedDrop> drops = new ArrayList<>();
+        List<PlannedDrop> hostileDrops = new ArrayList<>();
+
+        addEntityDrops(drops, hostileDrops, entityDrops.getNormalDrops(), NORMAL_EVENT_NAME);
+        addHostileDrops(hostileDrops, index.getHostileDrops(LootConfigManager.getNormalDropsKey()), NORMAL_EVENT_NAME);
+
+        for (String eventKey : activeEventKeys) {
+            addEntityDrops(drops, hostileDrops, entityDrops.getEventDrops(eventKey), eventKey);
+            addHostileDrops(hostileDrops, index.getHostileDrops(eventKey), eventKey);
+        }
+
+        return new EntityPlan(List.copyOf(drops), List.copyOf(hostileDrops),
+                VanillaDropPolicy.build(drops), VanillaDropPolicy.build(hostileDrops));
+    }
+
+    private static void addEntityDrops(List<PlannedDrop> drops, List<PlannedDrop> hostileDrops,
+                                       List<EntityDropEntry> entries, String eventName) {
+        for (EntityDropEntry entry : entries) {
+            PlannedDrop planned = new PlannedDrop(entry, eventName, true);
+            drops.add(planned);
+            hostileDrops.add(planned);
+        }
+    }
+
+    private static void addHostileDrops(List<PlannedDrop> hostileDrops, List<CustomDropEntry> entries, String eventName) {
+        for (CustomDropEntry entry : entries) {
+            hostileDrops.add(new PlannedDrop(entry, eventName, false));
+        }
+    }
+
+    /**
+     * Gets the configuration this plan was built from.
+     */
+    public LootConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Gets the configured keys of the active events that have drops.
+     */
+    public List<String> getActiveEventKeys() {
+        return activeEventKeys;
+    }
+
+    /**
+     * Gets the drops to process for an entity type, in order. Hostile entities also get the hostile drops.
+     */
+    public List<PlannedDrop> getDrops(EntityType<?> type, boolean hostile) {
+        EntityPlan plan = getEntityPlan(type);
+        return hostile ? plan.hostileDrops : plan.drops;
+    }
+
+    /**
+     * Gets the vanilla drop filter matching {@link #getDrops(EntityType, boolean)}.
+     */
+    public VanillaDropPolicy getVanillaDropPolicy(EntityType<?> type, boolean hostile) {
+        EntityPlan plan = getEntityPlan(type);
+        return hostile ? plan.hostilePolicy : plan.policy;
+    }
+
+    private EntityPlan getEntityPlan(EntityType<?> type) {
+        EntityPlan plan = entityPlans.get(type);
+        return plan != null ? plan : defaultPlan;
+    }
+
+    /**
+     * The merged drop lists of a single entity type.
+     */
+    private static final class EntityPlan {
+        private final List<PlannedDrop> drops;
+        private final List<PlannedDrop> hostileDrops;
+        private final VanillaDropPolicy policy;
+        private final VanillaDropPolicy hostilePolicy;
+
+        private EntityPlan(List<PlannedDrop> drops, List<PlannedDrop> hostileDrops,
+                           VanillaDropPolicy policy, VanillaDropPolicy hostilePolicy) {
+            this.drops = drops;
+            this.hostileDrops = hostileDrops;
+            this.policy = policy;
+            this.hostilePolicy = hostilePolicy;
+        }
+    }
+
+    /**
+     * A drop entry together with the event it was loaded for.
+     */
+    public static final class PlannedDrop {
+        private final CustomDropEntry entry;
+        private final String eventName;
+        private final boolean entitySpecific;
+
+        private PlannedDrop(CustomDropEntry entry, String eventName, boolean entitySpecific) {
+            this.entry = entry;
+            this.eventName = eventName;
+            this.entitySpecific = entitySpecific;
+        }
+
+        public CustomDropEntry getEntry() { return entry; }
+        public String getEventName() { return eventName; }
+        public boolean isEntitySpecific() { return entitySpecific; }
+    }
+}
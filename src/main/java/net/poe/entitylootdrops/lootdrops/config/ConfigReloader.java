@@ -0,0 +1,138 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Reloads the configuration without blocking the server thread.
+ * Directory walks, file writes and parsing run on a background thread; applying the event config,
+ * resolving drops against the registries and publishing run on the server thread. Reloads requested while one is running are
+ * coalesced into a single follow-up reload, which picks up every change made in the meantime.
+ */
+public final class ConfigReloader {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * Receives the outcome of a reload on the server thread.
+     */
+    @FunctionalInterface
+    public interface Callback {
+        /**
+         * @param millis how long the reload took from start to publish
+         * @param error  why the reload failed, or null if the new configuration was published
+         */
+        void done(long millis, Exception error);
+    }
+
+    private final LootConfigLoader loader;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "EntityLootDrops-Reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    private List<Callback> pending = new ArrayList<>();     // Callbacks served by the next reload
+    private MinecraftServer running;                        // Server of the reload in progress, null when idle
+    private boolean rebuildCache;                           // Whether the next reload rebuilds the binary drop cache
+
+    public ConfigReloader(LootConfigLoader loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Reloads the configuration in the background and calls back on the server thread once it is published.
+     * If a reload is already running, this request is served by the reload that follows it.
+     */
+    public void reload(MinecraftServer server, Callback callback) {
+        reload(server, callback, false);
+    }
+
+    /**
+     * Reloads like {@link #reload(MinecraftServer, Callback)}, but deletes the binary drop cache first so every
+     * drop file is parsed and the cache is written again.
+     */
+    public void rebuildCache(MinecraftServer server, Callback callback) {
+        reload(server, callback, true);
+    }
+
+    private void reload(MinecraftServer server, Callback callback, boolean rebuild) {
+        synchronized (lock) {
+            pending.add(callback);
+            rebuildCache |= rebuild;
+            // A reload left over from a server that has stopped will never publish
+            if (running == server) {
+                LOGGER.debug("Reload already in progress, queued another one");
+                return;
+            }
+            running = server;
+        }
+        executor.execute(() -> runReload(server));
+    }
+
+    private void runReload(MinecraftServer server) {
+        List<Callback> callbacks;
+        boolean rebuild;
+        synchronized (lock) {
+            callbacks = pending;
+            pending = new ArrayList<>();
+            rebuild = rebuildCache;
+            rebuildCache = false;
+        }
+
+        long start = System.nanoTime();
+        LootConfigLoader.PreparedConfig prepared;
+        try {
+            prepared = loader.prepareConfig(rebuild);
+        } catch (Exception e) {
+            LOGGER.error("Failed to reload configuration", e);
+            server.execute(() -> finish(server, callbacks, start, e));
+            return;
+        }
+        if (prepared.getError() != null) {
+            // Keep the current configuration rather than publishing one without drops
+            server.execute(() -> finish(server, callbacks, start, prepared.getError()));
+            return;
+        }
+
+        server.execute(() -> {
+            Exception error = null;
+            try {
+                loader.publishConfig(prepared);
+            } catch (Exception e) {
+                LOGGER.error("Failed to publish reloaded configuration", e);
+                error = e;
+            }
+            finish(server, callbacks, start, error);
+        });
+    }
+
+    private void finish(MinecraftServer server, List<Callback> callbacks, long start, Exception error) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        for (Callback callback : callbacks) {
+            try {
+                callback.done(millis, error);
+            } catch (Exception e) {
+                LOGGER.error("Reload callback failed", e);
+            }
+        }
+
+        synchronized (lock) {
+            if (running != server) {
+                return;
+            }
+            if (pending.isEmpty()) {
+                running = null;
+                return;
+            }
+        }
+        executor.execute(() -> runReload(server));
+    }
+}
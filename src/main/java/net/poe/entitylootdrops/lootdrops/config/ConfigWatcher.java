@@ -0,0 +1,178 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Watches the loot drops directory while the server runs and reloads only the drop files that changed.
+ * Changes are collected until the tree has been quiet for a moment, the touched files are parsed on the
+ * watcher thread, and the patched configuration is published on the server thread between ticks.
+ */
+public final class ConfigWatcher {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    // How long the tree must be quiet before collected changes are applied, so a save in several steps is one reload
+    private static final long DEBOUNCE_MS = 500;
+
+    private final LootConfigLoader loader;
+    private final MinecraftServer server;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    private ConfigWatcher(LootConfigLoader loader, MinecraftServer server, WatchService watchService) {
+        this.loader = loader;
+        this.server = server;
+        this.watchService = watchService;
+        this.thread = new Thread(this::run, "EntityLootDrops-ConfigWatcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching the loot drops directory of the loader and everything below it.
+     */
+    public static ConfigWatcher start(LootConfigLoader loader, MinecraftServer server) throws IOException {
+        ConfigWatcher watcher = new ConfigWatcher(loader, server, loader.getLootDropsDir().getFileSystem().newWatchService());
+        watcher.register(loader.getLootDropsDir(), null);
+        watcher.thread.start();
+        LOGGER.info("Watching {} directories for drop file changes", watcher.directories.size());
+        return watcher;
+    }
+
+    /**
+     * Stops watching. Changes that were collected but not yet applied are discarded.
+     */
+    public void stop() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close config watcher: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registers a directory and all directories below it.
+     * When pending is given, the files found are added to it, since they may have been written before the directory was registered.
+     */
+    private void register(Path root, Set<Path> pending) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    directories.put(key, path);
+                } else if (pending != null) {
+                    pending.add(path);
+                }
+            }
+        }
+    }
+
+    private void run() {
+        Set<Path> pending = new LinkedHashSet<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = pending.isEmpty() ? watchService.take() : watchService.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    // Quiet for long enough, apply everything collected so far
+                    apply(pending);
+                    pending = new LinkedHashSet<>();
+                    continue;
+                }
+
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        LOGGER.warn("Missed drop file changes, reading every drop file again");
+                        register(loader.getLootDropsDir(), pending);
+                        continue;
+                    }
+                    if (directory == null) {
+                        continue;
+                    }
+
+                    Path path = directory.resolve((Path) event.context());
+                    pending.add(path);
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                        register(path, pending);
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (Exception e) {
+            LOGGER.error("Config watcher stopped unexpectedly, use /lootdrops reload to apply changes", e);
+        }
+    }
+
+    /**
+     * Parses the changed files on this thread and hands the result to the server thread.
+     */
+    private void apply(Set<Path> paths) {
+        Map<Path, DropFileLoader.DropFile> changes = new LinkedHashMap<>();
+        boolean messagesChanged = false;
+        for (Path path : paths) {
+            if (loader.isMessagesFile(path)) {
+                messagesChanged = true;
+            } else if (!Files.exists(path)) {
+                changes.put(path, null);
+            } else if (Files.isRegularFile(path)) {
+                DropFileLoader.DropFile file = loader.readDropFile(path);
+                if (file != null) {
+                    changes.put(path, file);
+                }
+            }
+        }
+        if (changes.isEmpty() && !messagesChanged) {
+            return;
+        }
+
+        boolean reloadMessages = messagesChanged;
+        server.execute(() -> {
+            if (reloadMessages) {
+                loader.reloadMessages();
+                LOGGER.info("Reloaded custom messages");
+            }
+            if (!changes.isEmpty()) {
+                String summary = loader.applyFileChanges(changes);
+                if (summary != null) {
+                    LOGGER.info("{}", summary);
+                    notifyOperators(summary);
+                }
+            }
+        });
+    }
+
+    private void notifyOperators(String summary) {
+        Component message = Component.literal("§a[EntityLootDrops] §e" + summary);
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (player.hasPermissions(2)) {
+                player.sendSystemMessage(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraftforge.fml.ModList;
+import net.minecraftforge.forgespi.language.IModInfo;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.LootGroup;
+import net.poe.entitylootdrops.lootdrops.model.LootGroupItem;
+
+/**
+ * A binary copy of the parsed drop files, so a restart with unchanged files does not parse any JSON.
+ * The cache is keyed by a SHA-256 of every drop file's path and contents plus the loaded mods and their versions,
+ * and is read into a heap buffer in one go. Entries are stored as parsed; resolving them against the
+ * registries still happens on every load, since registry contents and ids are not stable between runs.
+ */
+final class DropCache {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Path CACHE_FILE = Paths.get("config/EntityLootDrops", "drops.cache");
+
+    private static final int MAGIC = 0x454C4443;    // "ELDC"
+    // Increase whenever the layout below or the fields of the drop model change
+    private static final int FORMAT_VERSION = 1;
+
+    private DropCache() {
+    }
+
+    /**
+     * Computes the cache key of the given discovered files.
+     */
+    static byte[] computeKey(List<DropFileLoader.DropFile> files) {
+        MessageDigest digest = newDigest();
+        digest.update(ByteBuffer.allocate(4).putInt(FORMAT_VERSION).array());
+        digest.update(describeMods().getBytes(StandardCharsets.UTF_8));
+        for (DropFileLoader.DropFile file : files) {
+            digest.update(file.getPath().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) (file.isEntityDrops() ? 1 : 0));
+            digest.update(file.getDirKey().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        for (byte[] contentHash : DropFileLoader.hashContents(files)) {
+            digest.update(contentHash);
+        }
+        return digest.digest();
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String describeMods() {
+        StringBuilder mods = new StringBuilder();
+        ModList modList = ModList.get();
+        if (modList != null) {
+            for (IModInfo mod : modList.getMods()) {
+                mods.append(mod.getModId()).append('@').append(mod.getVersion()).append(';');
+            }
+        }
+        return mods.toString();
+    }
+
+    /**
+     * Reads the cached files if the cache exists and was written for the given key, otherwise returns null.
+     */
+    static List<DropFileLoader.DropFile> read(byte[] key) {
+        if (!Files.isRegularFile(CACHE_FILE)) {
+            return null;
+        }
+
+        try {
+            // Not memory-mapped: a mapping keeps the file locked on Windows until it is garbage collected,
+            // which would make the next cache write or delete fail
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(CACHE_FILE));
+            if (in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring drop cache written by another version");
+                return null;
+            }
+            byte[] cachedKey = new byte[in.getInt()];
+            in.get(cachedKey);
+            if (!Arrays.equals(cachedKey, key)) {
+                LOGGER.debug("Drop cache is out of date");
+                return null;
+            }
+
+            int fileCount = in.getInt();
+            List<DropFileLoader.DropFile> files = new ArrayList<>(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                Path path = Paths.get(readString(in));
+                String dirKey = readString(in);
+                boolean entityDrops = in.get() != 0;
+                boolean valid = in.get() != 0;
+                int entryCount = in.getInt();
+                List<CustomDropEntry> drops = new ArrayList<>(entryCount);
+                for (int j = 0; j < entryCount; j++) {
+                    drops.add(readEntry(in, entityDrops));
+                }
+                files.add(new DropFileLoader.DropFile(dirKey, path, entityDrops, drops, valid));
+            }
+            return files;
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read drop cache, parsing drop files instead: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the parsed files for the given key, replacing the previous cache.
+     */
+    static void write(byte[] key, List<DropFileLoader.DropFile> files) {
+        Path tempFile = CACHE_FILE.resolveSibling(CACHE_FILE.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(CACHE_FILE.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(key.length);
+                out.write(key);
+                out.writeInt(files.size());
+                for (DropFileLoader.DropFile file : files) {
+                    writeString(out, file.getPath().toString());
+                    writeString(out, file.getDirKey());
+                    out.writeBoolean(file.isEntityDrops());
+                    out.writeBoolean(file.isValid());
+                    out.writeInt(file.getDrops().size());
+                    for (CustomDropEntry drop : file.getDrops()) {
+                        writeEntry(out, drop);
+                    }
+                }
+            }
+            Files.move(tempFile, CACHE_FILE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write drop cache: {}", e.toString());
+        }
+    }
+
+    /**
+     * Deletes the cache, so the next load parses every drop file.
+     */
+    static void delete() {
+        try {
+            Files.deleteIfExists(CACHE_FILE);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete drop cache: {}", e.toString());
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, CustomDropEntry drop) throws IOException {
+        if (drop instanceof EntityDropEntry entityDrop) {
+            writeString(out, entityDrop.getEntityId());
+        }
+        writeString(out, drop.getItemId());
+        out.writeFloat(drop.getDropChance());
+        out.writeInt(drop.getMinAmount());
+        out.writeInt(drop.getMaxAmount());
+        writeString(out, drop.getNbtData());
+        writeString(out, drop.getRequiredAdvancement());
+        writeString(out, drop.getRequiredEffect());
+        writeStringList(out, drop.getRequiredEquipment());
+        writeString(out, drop.getRequiredWeather());
+        writeString(out, drop.getRequiredTime());
+        writeString(out, drop.getRequiredDimension());
+        writeString(out, drop.getRequiredBiome());
+        writeString(out, drop.getCommand());
+        out.writeFloat(drop.getCommandChance());
+        writeString(out, drop.getDropCommand());
+        out.writeFloat(drop.getDropCommandChance());
+        out.writeInt(drop.getCommandCoolDown());
+        writeString(out, drop.getComment());
+        out.writeBoolean(drop.isRequirePlayerKill());
+        out.writeBoolean(drop.isAllowDefaultDrops());
+        writeStringList(out, drop.getAllowModIDs());
+        out.writeFloat(drop.getExtraDropChance());
+        out.writeInt(drop.getExtraAmountMin());
+        out.writeInt(drop.getExtraAmountMax());
+        out.writeBoolean(drop.isEnableDropCount());
+
+        LootGroup group = drop.getGroup();
+        out.writeBoolean(group != null);
+        if (group != null) {
+            out.writeInt(group.getRolls());
+            List<LootGroupItem> items = group.hasItems() ? group.getItems() : List.of();
+            out.writeInt(items.size());
+            for (LootGroupItem item : items) {
+                out.writeBoolean(item != null);
+                if (item != null) {
+                    writeString(out, item.getItemId());
+                    out.writeDouble(item.getWeight());
+                    out.writeInt(item.getMinAmount());
+                    out.writeInt(item.getMaxAmount());
+                    writeString(out, item.getNbtData());
+                }
+            }
+        }
+    }
+
+    private static CustomDropEntry readEntry(ByteBuffer in, boolean entityDrops) {
+        CustomDropEntry drop;
+        if (entityDrops) {
+            EntityDropEntry entityDrop = new EntityDropEntry();
+            entityDrop.setEntityId(readString(in));
+            drop = entityDrop;
+        } else {
+            drop = new CustomDropEntry();
+        }
+        drop.setItemId(readString(in));
+        drop.setDropChance(in.getFloat());
+        drop.setMinAmount(in.getInt());
+        drop.setMaxAmount(in.getInt());
+        drop.setNbtData(readString(in));
+        drop.setRequiredAdvancement(readString(in));
+        drop.setRequiredEffect(readString(in));
+        drop.setRequiredEquipment(readStringList(in));
+        drop.setRequiredWeather(readString(in));
+        drop.setRequiredTime(readString(in));
+        drop.setRequiredDimension(readString(in));
+        drop.setRequiredBiome(readString(in));
+        drop.setCommand(readString(in));
+        drop.setCommandChance(in.getFloat());
+        drop.setDropCommand(readString(in));
+        drop.setDropCommandChance(in.getFloat());
+        drop.setCommandCoolDown(in.getInt());
+        drop.setComment(readString(in));
+        drop.setRequirePlayerKill(in.get() != 0);
+        drop.setAllowDefaultDrops(in.get() != 0);
+        drop.setAllowModIDs(readStringList(in));
+        drop.setExtraDropChance(in.getFloat());
+        drop.setExtraAmountMin(in.getInt());
+        drop.setExtraAmountMax(in.getInt());
+        drop.setEnableDropCount(in.get() != 0);
+
+        if (in.get() != 0) {
+            LootGroup group = new LootGroup();
+            group.setRolls(in.getInt());
+            int itemCount = in.getInt();
+            for (int i = 0; i < itemCount; i++) {
+                LootGroupItem item = null;
+                if (in.get() != 0) {
+                    item = new LootGroupItem();
+                    item.setItemId(readString(in));
+                    item.setWeight(in.getDouble());
+                    item.setMinAmount(in.getInt());
+                    item.setMaxAmount(in.getInt());
+                    item.setNbtData(readString(in));
+                }
+                group.getItems().add(item);
+            }
+            drop.setGroup(group);
+        }
+        return drop;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStringList(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values != null ? values.size() : -1);
+        if (values != null) {
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static List<String> readStringList(ByteBuffer in) {
+        int size = in.getInt();
+        if (size < 0) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,309 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.TagParser;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.tags.ITag;
+import net.minecraftforge.registries.tags.ITagManager;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import net.poe.entitylootdrops.lootdrops.events.AdvancementCache;
+import net.poe.entitylootdrops.lootdrops.model.CommandTemplate;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.LootGroup;
+import net.poe.entitylootdrops.lootdrops.model.LootGroupItem;
+import net.poe.entitylootdrops.lootdrops.model.RequirementStats;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedDrop;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedGroup;
+import net.poe.entitylootdrops.util.AliasTable;
+
+/**
+ * Resolves the string identifiers of drop entries against the game registries.
+ */
+public final class DropEntryResolver {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private DropEntryResolver() {
+    }
+
+    /**
+     * Resolves every entry and reports each unresolvable identifier once.
+     * Before a server is running modded registries may still be incomplete, so problems
+     * are only logged at debug level and the pass is repeated when the server starts.
+     *
+     * @param previousDrops the entries of the live configuration; an entry with the same ordinal and the same
+     *                      requirements keeps their learned requirement order and counters
+     */
+    public static void resolveAll(Collection<? extends CustomDropEntry> drops, Collection<? extends CustomDropEntry> previousDrops) {
+        Long2ObjectMap<RequirementStats> previousStats = new Long2ObjectOpenHashMap<>(previousDrops.size());
+        for (CustomDropEntry drop : previousDrops) {
+            if (drop.getResolved() != null) {
+                previousStats.put(drop.getOrdinal(), drop.getResolved().getRequirementStats());
+            }
+        }
+
+        Set<String> problems = new LinkedHashSet<>();
+        for (CustomDropEntry drop : drops) {
+            drop.setResolved(resolve(drop, problems, previousStats.get(drop.getOrdinal())));
+        }
+
+        if (problems.isEmpty()) {
+            return;
+        }
+
+        boolean serverRunning = ServerLifecycleHooks.getCurrentServer() != null;
+        for (String problem : problems) {
+            if (serverRunning) {
+                LOGGER.warn("{}", problem);
+            } else {
+                LOGGER.debug("{} (will retry when the server starts)", problem);
+            }
+        }
+    }
+
+    /**
+     * Resolves a single entry without reporting problems.
+     */
+    public static ResolvedDrop resolve(CustomDropEntry drop) {
+        return resolve(drop, new LinkedHashSet<>());
+    }
+
+    /**
+     * Resolves a single entry, adding a message to problems for each identifier that cannot be resolved.
+     */
+    public static ResolvedDrop resolve(CustomDropEntry drop, Set<String> problems) {
+        return resolve(drop, problems, null);
+    }
+
+    private static ResolvedDrop resolve(CustomDropEntry drop, Set<String> problems, RequirementStats previousStats) {
+        boolean unsatisfiable = false;
+
+        Item item = null;
+        ItemStack prototype = null;
+        if (drop.hasItem()) {
+            item = resolveItem(drop.getItemId());
+            if (item == null) {
+                problems.add("Unknown item: " + drop.getItemId());
+            } else {
+                prototype = createPrototype(drop.getItemId(), item, drop.getNbtData(), problems);
+            }
+        }
+
+        ResolvedGroup group = drop.hasGroup() ? resolveGroup(drop.getGroup(), problems) : null;
+        CommandTemplate command = drop.hasCommand() ? CommandTemplate.compile(drop.getCommand()) : null;
+        CommandTemplate dropCommand = drop.hasDropCommand() ? CommandTemplate.compile(drop.getDropCommand()) : null;
+
+        ResourceLocation advancement = null;
+        int advancementIndex = -1;
+        if (drop.hasRequiredAdvancement()) {
+            advancement = ResourceLocation.tryParse(drop.getRequiredAdvancement());
+            if (advancement == null) {
+                problems.add("Invalid advancement id: " + drop.getRequiredAdvancement());
+                unsatisfiable = true;
+            } else {
+                advancementIndex = AdvancementCache.indexOf(advancement);
+            }
+        }
+
+        MobEffect effect = null;
+        if (drop.hasRequiredEffect()) {
+            ResourceLocation effectId = ResourceLocation.tryParse(drop.getRequiredEffect());
+            effect = effectId != null && ForgeRegistries.MOB_EFFECTS.containsKey(effectId)
+                    ? ForgeRegistries.MOB_EFFECTS.getValue(effectId) : null;
+            if (effect == null) {
+                problems.add("Unknown effect: " + drop.getRequiredEffect());
+                unsatisfiable = true;
+            }
+        }
+
+        BitSet equipment = null;
+        if (drop.hasRequiredEquipment()) {
+            equipment = resolveEquipment(drop.getRequiredEquipment(), problems);
+            if (equipment.isEmpty()) {
+                unsatisfiable = true;
+            }
+        }
+
+        ResolvedDrop.Weather weather = null;
+        if (drop.hasRequiredWeather()) {
+            weather = ResolvedDrop.Weather.fromString(drop.getRequiredWeather());
+            if (weather == null) {
+                problems.add("Unknown weather requirement: " + drop.getRequiredWeather());
+                unsatisfiable = true;
+            }
+        }
+
+        ResolvedDrop.Time time = null;
+        if (drop.hasRequiredTime()) {
+            time = ResolvedDrop.Time.fromString(drop.getRequiredTime());
+            if (time == null) {
+                problems.add("Unknown time requirement: " + drop.getRequiredTime());
+                unsatisfiable = true;
+            }
+        }
+
+        ResourceKey<Level> dimension = null;
+        if (drop.hasRequiredDimension()) {
+            ResourceLocation dimensionId = ResourceLocation.tryParse(drop.getRequiredDimension());
+            if (dimensionId != null) {
+                dimension = ResourceKey.create(Registries.DIMENSION, dimensionId);
+            } else {
+                problems.add("Invalid dimension id: " + drop.getRequiredDimension());
+                unsatisfiable = true;
+            }
+        }
+
+        ResourceKey<Biome> biome = null;
+        if (drop.hasRequiredBiome()) {
+            ResourceLocation biomeId = ResourceLocation.tryParse(drop.getRequiredBiome());
+            if (biomeId != null) {
+                biome = ResourceKey.create(Registries.BIOME, biomeId);
+            } else {
+                problems.add("Invalid biome id: " + drop.getRequiredBiome());
+                unsatisfiable = true;
+            }
+        }
+
+        return new ResolvedDrop(item, prototype, group, command, dropCommand, advancement, advancementIndex, effect, equipment,
+                weather, time, dimension, biome, unsatisfiable, previousStats);
+    }
+
+    /**
+     * Compiles equipment requirements into the set of accepted item registry IDs, expanding
+     * item tags with their current contents. Any one of the items or tags satisfies the requirement.
+     */
+    private static BitSet resolveEquipment(List<String> ids, Set<String> problems) {
+        BitSet items = new BitSet();
+        ITagManager<Item> tags = ForgeRegistries.ITEMS.tags();
+        for (String id : ids) {
+            if (id == null || id.isEmpty()) {
+                continue;
+            }
+
+            if (!id.startsWith("#")) {
+                Item item = resolveItem(id);
+                if (item == null) {
+                    problems.add("Unknown equipment item: " + id);
+                } else {
+                    items.set(Item.getId(item));
+                }
+                continue;
+            }
+
+            ResourceLocation tagId = ResourceLocation.tryParse(id.substring(1));
+            if (tagId == null || tags == null) {
+                problems.add("Invalid equipment tag: " + id);
+                continue;
+            }
+            ITag<Item> tag = tags.getTag(tags.createTagKey(tagId));
+            if (tag.isEmpty()) {
+                problems.add("Equipment tag is empty or not loaded: " + id);
+            }
+            for (Item item : tag) {
+                items.set(Item.getId(item));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Compiles a loot group into prebuilt stacks and an alias table over its weights.
+     * Returns null if no item has a positive weight, in which case the group never drops anything.
+     */
+    private static ResolvedGroup resolveGroup(LootGroup group, Set<String> problems) {
+        List<LootGroupItem> items = group.getItems();
+        int size = items.size();
+        double[] weights = new double[size];
+        ItemStack[] prototypes = new ItemStack[size];
+        String[] itemIds = new String[size];
+        int[] minAmounts = new int[size];
+        int[] maxAmounts = new int[size];
+        boolean anyWeight = false;
+
+        for (int i = 0; i < size; i++) {
+            LootGroupItem groupItem = items.get(i);
+            if (groupItem == null) {
+                continue;
+            }
+            weights[i] = groupItem.getWeight();
+            itemIds[i] = groupItem.getItemId();
+            minAmounts[i] = groupItem.getMinAmount();
+            maxAmounts[i] = groupItem.getMaxAmount();
+            anyWeight |= weights[i] > 0 && Double.isFinite(weights[i]);
+
+            // Unknown items keep their weight so the odds of the others stay as configured
+            Item item = groupItem.hasItem() ? resolveItem(groupItem.getItemId()) : null;
+            if (item == null) {
+                problems.add("Unknown item in loot group: " + groupItem.getItemId());
+            } else {
+                prototypes[i] = createPrototype(groupItem.getItemId(), item, groupItem.getNbtData(), problems);
+            }
+        }
+
+        if (!anyWeight) {
+            problems.add("Loot group has no item with a positive weight: " + itemIdsOf(items));
+            return null;
+        }
+        return new ResolvedGroup(Math.max(0, group.getRolls()), new AliasTable(weights), prototypes, itemIds,
+                minAmounts, maxAmounts);
+    }
+
+    private static String itemIdsOf(List<LootGroupItem> items) {
+        StringBuilder ids = new StringBuilder();
+        for (LootGroupItem groupItem : items) {
+            if (ids.length() > 0) {
+                ids.append(", ");
+            }
+            ids.append(groupItem != null ? groupItem.getItemId() : null);
+        }
+        return ids.toString();
+    }
+
+    /**
+     * Builds the prototype stack of a drop, parsing its NBT once.
+     * Invalid NBT is reported and the item drops without it, as before.
+     */
+    private static ItemStack createPrototype(String itemId, Item item, String nbtData, Set<String> problems) {
+        ItemStack prototype = new ItemStack(item);
+        if (nbtData != null && !nbtData.isEmpty()) {
+            try {
+                CompoundTag nbt = TagParser.parseTag(nbtData);
+                prototype.setTag(nbt);
+            } catch (CommandSyntaxException e) {
+                problems.add("Invalid NBT for item " + itemId + ": " + e.getMessage());
+            }
+        }
+        return prototype;
+    }
+
+    /**
+     * Looks up an item, returning null instead of air for unknown IDs.
+     */
+    private static Item resolveItem(String itemId) {
+        ResourceLocation location = ResourceLocation.tryParse(itemId);
+        if (location == null || !ForgeRegistries.ITEMS.containsKey(location)) {
+            return null;
+        }
+        return ForgeRegistries.ITEMS.getValue(location);
+    }
+}
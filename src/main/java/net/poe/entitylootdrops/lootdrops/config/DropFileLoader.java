@@ -0,0 +1,241 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+
+/**
+ * Finds and parses the drop files of the normal and event drop directories.
+ * Directories are walked and files are parsed in parallel on a dedicated fork-join pool, streaming
+ * each file through one shared Gson instance. Results always come back in sorted path order,
+ * so the loaded configuration does not depend on file system or thread scheduling order.
+ */
+final class DropFileLoader {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String MOBS_DIR = "Mobs";
+
+    // Gson is thread-safe once built, so every worker shares it
+    private static final Gson GSON = new Gson();
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("EntityLootDrops-Loader-" + thread.getPoolIndex());
+                return thread;
+            },
+            null, false);
+
+    private DropFileLoader() {
+    }
+
+    /**
+     * A directory of drops and the key its drops are stored under.
+     */
+    static final class DropDirectory {
+        private final String dirKey;
+        private final Path directory;
+
+        DropDirectory(String dirKey, Path directory) {
+            this.dirKey = dirKey;
+            this.directory = directory;
+        }
+
+        String getDirKey() { return dirKey; }
+    }
+
+    /**
+     * The parsed contents of one drop file.
+     */
+    static final class DropFile {
+        private final String dirKey;
+        private final Path path;
+        private final boolean entityDrops;
+        private List<? extends CustomDropEntry> drops = Collections.emptyList();
+        private boolean valid;          // False if the file could not be read or parsed
+
+        private DropFile(String dirKey, Path path, boolean entityDrops) {
+            this.dirKey = dirKey;
+            this.path = path;
+            this.entityDrops = entityDrops;
+        }
+
+        DropFile(String dirKey, Path path, boolean entityDrops, List<? extends CustomDropEntry> drops, boolean valid) {
+            this(dirKey, path, entityDrops);
+            this.drops = drops;
+            this.valid = valid;
+            assignOrdinals();
+        }
+
+        String getDirKey() { return dirKey; }
+        Path getPath() { return path; }
+        boolean isEntityDrops() { return entityDrops; }
+        List<? extends CustomDropEntry> getDrops() { return drops; }
+        boolean isValid() { return valid; }
+
+        /**
+         * Numbers the entries of this file from its path and their position in it, so deterministic drop
+         * rolls stay tied to an entry across restarts and are not shifted by edits to other files.
+         */
+        private void assignOrdinals() {
+            // Path hash in the high half and index in the low half, so entries of different files never share an ordinal
+            long pathHash = (long) path.toString().replace('\\', '/').hashCode() << 32;
+            for (int i = 0; i < drops.size(); i++) {
+                drops.get(i).setOrdinal(pathHash | i);
+            }
+        }
+    }
+
+    /**
+     * Finds every drop file of the given directories, without parsing them.
+     * Files of each directory follow each other, in the order the directories were given and sorted by path within each.
+     */
+    static List<DropFile> discoverAll(List<DropDirectory> directories) {
+        return POOL.submit(() -> directories.parallelStream()
+                .flatMap(directory -> discover(directory).stream())
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Parses the given files, keeping their order.
+     * Files that cannot be read or parsed are logged and come back without drops.
+     */
+    static List<DropFile> parseAll(List<DropFile> files) {
+        return POOL.submit(() -> files.parallelStream()
+                .map(DropFileLoader::parse)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Computes a SHA-256 of the contents of each file, keeping their order.
+     */
+    static List<byte[]> hashContents(List<DropFile> files) {
+        return POOL.submit(() -> files.parallelStream()
+                .map(file -> {
+                    try {
+                        return DropCache.newDigest().digest(Files.readAllBytes(file.path));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Lists the general drop files directly in a directory, then the entity drop files anywhere below
+     * one of its Mobs directories, each group sorted by path.
+     */
+    private static List<DropFile> discover(DropDirectory directory) {
+        List<DropFile> files = new ArrayList<>();
+
+        try (Stream<Path> paths = Files.walk(directory.directory, 1)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(DropFileLoader::isJsonFile)
+                    .filter(path -> !path.toString().contains(MOBS_DIR))
+                    .sorted()
+                    .forEach(path -> files.add(new DropFile(directory.dirKey, path, false)));
+        } catch (IOException e) {
+            LOGGER.error("Failed to walk directory for general drops: {}", directory.directory, e);
+        }
+
+        // Nested folders within Mobs directories are supported
+        try (Stream<Path> paths = Files.walk(directory.directory)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(DropFileLoader::isJsonFile)
+                    .filter(path -> isBelowMobsDirectory(directory.directory, path))
+                    .sorted()
+                    .forEach(path -> files.add(new DropFile(directory.dirKey, path, true)));
+        } catch (IOException e) {
+            LOGGER.error("Failed to find Mobs directories in: {}", directory.directory, e);
+        }
+
+        return files;
+    }
+
+    /**
+     * Parses a single file of a directory again, or returns null if it is not a drop file of that directory.
+     */
+    static DropFile read(DropDirectory directory, Path file) {
+        if (!isJsonFile(file) || !file.startsWith(directory.directory)) {
+            return null;
+        }
+        if (directory.directory.relativize(file).getNameCount() == 1 && !file.toString().contains(MOBS_DIR)) {
+            return parse(new DropFile(directory.dirKey, file, false));
+        }
+        if (isBelowMobsDirectory(directory.directory, file)) {
+            return parse(new DropFile(directory.dirKey, file, true));
+        }
+        return null;
+    }
+
+    private static boolean isJsonFile(Path path) {
+        return path.toString().endsWith(".json");
+    }
+
+    private static boolean isBelowMobsDirectory(Path root, Path path) {
+        Path relative = root.relativize(path).getParent();
+        if (relative != null) {
+            for (Path name : relative) {
+                if (name.toString().equals(MOBS_DIR)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses one file straight from disk without reading it into a string first.
+     */
+    private static DropFile parse(DropFile file) {
+        LOGGER.debug("Processing drops file: {}", file.path);
+        try (Reader in = Files.newBufferedReader(file.path, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(in)) {
+            CustomDropEntry[] drops = file.entityDrops
+                    ? GSON.fromJson(reader, EntityDropEntry[].class)
+                    : GSON.fromJson(reader, CustomDropEntry[].class);
+            if (drops == null) {
+                LOGGER.warn("Empty JSON file: {}", file.path);
+                file.valid = true;
+                return file;
+            }
+
+            List<CustomDropEntry> entries = new ArrayList<>(drops.length);
+            for (CustomDropEntry drop : drops) {
+                if (drop == null) {
+                    continue;
+                }
+                if (file.entityDrops && ((EntityDropEntry) drop).getEntityId() == null) {
+                    continue;
+                }
+                entries.add(drop);
+            }
+            file.drops = entries;
+            file.valid = true;
+            file.assignOrdinals();
+            LOGGER.debug("Loaded {} drops from file: {}", entries.size(), file.path);
+        } catch (Exception e) {
+            LOGGER.error("Failed to load drops from file: {}", file.path, e);
+        }
+        return file;
+    }
+}
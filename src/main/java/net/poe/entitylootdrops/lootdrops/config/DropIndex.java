@@ -0,0 +1,90 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+
+/**
+ * Immutable lookup structure built from the loaded drop configurations.
+ * Entity-specific entries are kept per directory in load order; {@link EntityDropTable} expands
+ * their entity IDs, tags and wildcards into per-type lists once the registries and tags are known.
+ */
+public final class DropIndex {
+    public static final DropIndex EMPTY = new DropIndex(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, List<EntityDropEntry>> entityDrops;
+    private final Map<String, List<CustomDropEntry>> hostileDrops;
+    private final Map<String, String> eventKeys;
+
+    private DropIndex(Map<String, List<EntityDropEntry>> entityDrops, Map<String, List<CustomDropEntry>> hostileDrops,
+                      Map<String, String> eventKeys) {
+        this.entityDrops = entityDrops;
+        this.hostileDrops = hostileDrops;
+        this.eventKeys = eventKeys;
+    }
+
+    /**
+     * Builds an index from the per-directory drop lists.
+     *
+     * @param entityDropsByDir entity drops keyed by directory/event name
+     * @param hostileDropsByDir hostile drops keyed by directory/event name
+     * @param normalDirKey the directory key of the always-active drops
+     */
+    public static DropIndex build(Map<String, List<EntityDropEntry>> entityDropsByDir,
+                                  Map<String, List<CustomDropEntry>> hostileDropsByDir,
+                                  String normalDirKey) {
+        Map<String, List<EntityDropEntry>> entityDrops = new HashMap<>();
+        Map<String, String> eventKeys = new HashMap<>();
+
+        for (Map.Entry<String, List<EntityDropEntry>> dir : entityDropsByDir.entrySet()) {
+            if (!dir.getKey().equals(normalDirKey)) {
+                eventKeys.putIfAbsent(dir.getKey().toLowerCase(Locale.ROOT), dir.getKey());
+            }
+
+            List<EntityDropEntry> drops = new ArrayList<>();
+            for (EntityDropEntry drop : dir.getValue()) {
+                if (drop.getEntityId() != null) {
+                    drops.add(drop);
+                }
+            }
+            entityDrops.put(dir.getKey(), List.copyOf(drops));
+        }
+
+        Map<String, List<CustomDropEntry>> hostileDrops = new HashMap<>();
+        for (Map.Entry<String, List<CustomDropEntry>> dir : hostileDropsByDir.entrySet()) {
+            hostileDrops.put(dir.getKey(), List.copyOf(dir.getValue()));
+            if (!dir.getKey().equals(normalDirKey)) {
+                eventKeys.putIfAbsent(dir.getKey().toLowerCase(Locale.ROOT), dir.getKey());
+            }
+        }
+
+        return new DropIndex(Map.copyOf(entityDrops), Map.copyOf(hostileDrops), Map.copyOf(eventKeys));
+    }
+
+    /**
+     * Gets the entity drops of every directory/event key, each in load order.
+     */
+    public Map<String, List<EntityDropEntry>> getEntityDrops() {
+        return entityDrops;
+    }
+
+    /**
+     * Gets the hostile drops for a directory/event key.
+     */
+    public List<CustomDropEntry> getHostileDrops(String dirKey) {
+        return hostileDrops.getOrDefault(dirKey, Collections.emptyList());
+    }
+
+    /**
+     * Finds the configured (case-preserved) key of an event, or null if it has no drops.
+     */
+    public String findEventKey(String eventName) {
+        return eventKeys.get(eventName.toLowerCase(Locale.ROOT));
+    }
+}
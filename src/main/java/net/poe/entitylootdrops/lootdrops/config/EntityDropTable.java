@@ -0,0 +1,165 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+
+/**
+ * The entity-specific drops of every entity type, with tags, namespace wildcards and
+ * Global_* categories already expanded. Built when the configuration is published and again
+ * whenever tags reload, so a death looks up its drops by type without matching any patterns.
+ */
+public final class EntityDropTable {
+    public static final EntityDropTable EMPTY = new EntityDropTable(Collections.emptyMap());
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final Map<EntityType<?>, EntityDrops> drops;
+
+    private EntityDropTable(Map<EntityType<?>, EntityDrops> drops) {
+        this.drops = drops;
+    }
+
+    /**
+     * Expands the entity drops of an index against the entity type registry and its current tags.
+     * Each type's lists keep the load order of their directory, whichever way the entries matched.
+     */
+    public static EntityDropTable build(DropIndex index) {
+        Map<EntityType<?>, Map<String, List<EntityDropEntry>>> byType = new Reference2ObjectOpenHashMap<>();
+        // Patterns are usually shared by many entries, so each is matched against the registry once
+        Map<String, List<EntityType<?>>> patternTypes = new HashMap<>();
+        Set<String> problems = new LinkedHashSet<>();
+
+        for (Map.Entry<String, List<EntityDropEntry>> dir : index.getEntityDrops().entrySet()) {
+            for (EntityDropEntry drop : dir.getValue()) {
+                EntityMatcher matcher = EntityMatcher.of(drop.getEntityId());
+                if (!matcher.isValid()) {
+                    problems.add("Invalid entityId: " + drop.getEntityId());
+                    continue;
+                }
+
+                if (matcher.isExact()) {
+                    EntityType<?> type = matcher.getExactType();
+                    if (type == null) {
+                        problems.add("Unknown entityId: " + drop.getEntityId());
+                        continue;
+                    }
+                    add(byType, type, dir.getKey(), drop);
+                    continue;
+                }
+
+                List<EntityType<?>> types = patternTypes.computeIfAbsent(drop.getEntityId(), k -> matchingTypes(matcher));
+                if (types.isEmpty()) {
+                    problems.add("entityId matches no entity types: " + drop.getEntityId());
+                }
+                for (EntityType<?> type : types) {
+                    add(byType, type, dir.getKey(), drop);
+                }
+            }
+        }
+
+        // Same reporting as DropEntryResolver: tags and modded types may be missing before the server starts
+        boolean serverRunning = ServerLifecycleHooks.getCurrentServer() != null;
+        for (String problem : problems) {
+            if (serverRunning) {
+                LOGGER.warn("{}", problem);
+            } else {
+                LOGGER.debug("{}", problem);
+            }
+        }
+
+        Map<EntityType<?>, EntityDrops> drops = new Reference2ObjectOpenHashMap<>(byType.size());
+        String normalKey = LootConfigManager.getNormalDropsKey();
+        byType.forEach((type, dirs) -> {
+            List<EntityDropEntry> normalDrops = dirs.remove(normalKey);
+            Map<String, List<EntityDropEntry>> eventDrops = new HashMap<>();
+            dirs.forEach((eventKey, eventList) -> eventDrops.put(eventKey, List.copyOf(eventList)));
+            drops.put(type, new EntityDrops(normalDrops != null ? List.copyOf(normalDrops) : Collections.emptyList(),
+                    Map.copyOf(eventDrops)));
+        });
+
+        LOGGER.debug("Expanded entity drops for {} entity types from {} patterns", drops.size(), patternTypes.size());
+        return new EntityDropTable(drops);
+    }
+
+    private static void add(Map<EntityType<?>, Map<String, List<EntityDropEntry>>> byType, EntityType<?> type,
+                            String dirKey, EntityDropEntry drop) {
+        byType.computeIfAbsent(type, k -> new HashMap<>())
+                .computeIfAbsent(dirKey, k -> new ArrayList<>()).add(drop);
+    }
+
+    private static List<EntityType<?>> matchingTypes(EntityMatcher matcher) {
+        List<EntityType<?>> types = new ArrayList<>();
+        for (Map.Entry<ResourceKey<EntityType<?>>, EntityType<?>> entry : ForgeRegistries.ENTITY_TYPES.getEntries()) {
+            if (matcher.matches(entry.getValue(), entry.getKey().location())) {
+                types.add(entry.getValue());
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Gets the drops of an entity type, never null.
+     */
+    public EntityDrops forType(EntityType<?> type) {
+        EntityDrops entityDrops = drops.get(type);
+        return entityDrops != null ? entityDrops : EntityDrops.NONE;
+    }
+
+    /**
+     * Gets the entity types that have entity-specific drops.
+     */
+    public Set<EntityType<?>> getTypes() {
+        return drops.keySet();
+    }
+
+    /**
+     * Gets the number of entity types that have entity-specific drops.
+     */
+    public int size() {
+        return drops.size();
+    }
+
+    /**
+     * The entity-specific drops of a single entity type.
+     */
+    public static final class EntityDrops {
+        static final EntityDrops NONE = new EntityDrops(Collections.emptyList(), Collections.emptyMap());
+
+        private final List<EntityDropEntry> normalDrops;
+        private final Map<String, List<EntityDropEntry>> eventDrops;
+
+        private EntityDrops(List<EntityDropEntry> normalDrops, Map<String, List<EntityDropEntry>> eventDrops) {
+            this.normalDrops = normalDrops;
+            this.eventDrops = eventDrops;
+        }
+
+        /**
+         * Gets the normal (always active) drops for this entity type.
+         */
+        public List<EntityDropEntry> getNormalDrops() {
+            return normalDrops;
+        }
+
+        /**
+         * Gets the drops this entity type has for a specific event key.
+         */
+        public List<EntityDropEntry> getEventDrops(String eventKey) {
+            return eventDrops.getOrDefault(eventKey, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * A parsed entityId of a drop entry. Besides a plain entity ID this understands
+ * entity tags ("#minecraft:skeletons"), namespace wildcards ("alexsmobs:*") and the
+ * Global_Hostile/Global_Monster, Global_Passive/Global_Animal and Global_All/Global categories.
+ */
+public final class EntityMatcher {
+    private static final Map<String, EntityMatcher> CACHE = new ConcurrentHashMap<>();
+
+    private final String entityId;
+    private final Kind kind;
+    // The entity ID, tag ID or namespace, depending on the kind
+    private final ResourceLocation id;
+    private final String namespace;
+    private final TagKey<EntityType<?>> tag;
+
+    private enum Kind {
+        EXACT, TAG, NAMESPACE, HOSTILE, PASSIVE, ALL, INVALID
+    }
+
+    private EntityMatcher(String entityId, Kind kind, ResourceLocation id, String namespace, TagKey<EntityType<?>> tag) {
+        this.entityId = entityId;
+        this.kind = kind;
+        this.id = id;
+        this.namespace = namespace;
+        this.tag = tag;
+    }
+
+    /**
+     * Gets the matcher of an entityId, parsing each distinct ID only once.
+     */
+    public static EntityMatcher of(String entityId) {
+        return CACHE.computeIfAbsent(entityId, EntityMatcher::parse);
+    }
+
+    private static EntityMatcher parse(String entityId) {
+        switch (entityId) {
+            case "Global_Hostile":
+            case "Global_Monster":
+                return new EntityMatcher(entityId, Kind.HOSTILE, null, null, null);
+            case "Global_Passive":
+            case "Global_Animal":
+                return new EntityMatcher(entityId, Kind.PASSIVE, null, null, null);
+            case "Global_All":
+            case "Global":
+                return new EntityMatcher(entityId, Kind.ALL, null, null, null);
+            default:
+                break;
+        }
+
+        if (entityId.startsWith("#")) {
+            ResourceLocation tagId = ResourceLocation.tryParse(entityId.substring(1));
+            if (tagId == null) {
+                return invalid(entityId);
+            }
+            return new EntityMatcher(entityId, Kind.TAG, tagId, null, TagKey.create(Registries.ENTITY_TYPE, tagId));
+        }
+
+        if (entityId.endsWith(":*")) {
+            String namespace = entityId.substring(0, entityId.length() - 2);
+            if (namespace.isEmpty() || !ResourceLocation.isValidNamespace(namespace)) {
+                return invalid(entityId);
+            }
+            return new EntityMatcher(entityId, Kind.NAMESPACE, null, namespace, null);
+        }
+
+        ResourceLocation id = ResourceLocation.tryParse(entityId);
+        return id != null ? new EntityMatcher(entityId, Kind.EXACT, id, null, null) : invalid(entityId);
+    }
+
+    private static EntityMatcher invalid(String entityId) {
+        return new EntityMatcher(entityId, Kind.INVALID, null, null, null);
+    }
+
+    /**
+     * Checks if an entity type is matched. Tags only match once the server has loaded them.
+     *
+     * @param type the entity type
+     * @param typeId the registry ID of the type
+     */
+    public boolean matches(EntityType<?> type, ResourceLocation typeId) {
+        switch (kind) {
+            case EXACT:
+                return id.equals(typeId);
+            case TAG:
+                return type.is(tag);
+            case NAMESPACE:
+                return namespace.equals(typeId.getNamespace());
+            case HOSTILE:
+                return type.getCategory() == MobCategory.MONSTER;
+            case PASSIVE:
+                return type.getCategory() == MobCategory.CREATURE || type.getCategory() == MobCategory.AMBIENT;
+            case ALL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks if an entity type is matched, looking up its registry ID.
+     */
+    public boolean matches(EntityType<?> type) {
+        ResourceLocation typeId = ForgeRegistries.ENTITY_TYPES.getKey(type);
+        return typeId != null && matches(type, typeId);
+    }
+
+    /**
+     * Gets the entity type of a plain entity ID, or null if this is a pattern or the type does not exist.
+     */
+    public EntityType<?> getExactType() {
+        if (kind != Kind.EXACT || !ForgeRegistries.ENTITY_TYPES.containsKey(id)) {
+            return null;
+        }
+        return ForgeRegistries.ENTITY_TYPES.getValue(id);
+    }
+
+    /**
+     * Checks if this matches a single entity ID rather than a tag, namespace or category.
+     */
+    public boolean isExact() {
+        return kind == Kind.EXACT;
+    }
+
+    public boolean isValid() {
+        return kind != Kind.INVALID;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+}
@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -13,6 +14,10 @@ import org.apache.logging.log4j.Logger;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.poe.entitylootdrops.util.ItemNamespaces;
+
 /**
  * Manages event-specific configuration settings.
  */
@@ -21,7 +26,9 @@ public class EventConfig {
     private static final String CONFIG_DIR = "config/EntityLootDrops";
     private static final String EVENT_CONFIG_FILE = "EventConfig.json";
 
-    private static EventConfigData config = new EventConfigData();
+    private static volatile EventConfigData config = new EventConfigData();
+    // Whether drop events affect each namespace, rebuilt whenever the config is loaded
+    private static volatile NamespaceDecisions namespaceDecisions = new NamespaceDecisions();
 
     /**
      * Configuration data structure for events.
@@ -34,7 +41,12 @@ public class EventConfig {
         private List<String> allowedMods = new ArrayList<>();
         private List<String> blockedMods = new ArrayList<>();
         private double dropChanceMultiplier = 0.5; // 50% chance for extra drops
-        private double doubleDropChanceMultiplier = 2.0; // 2x multiplier for double drops
+        private double doubleDropChanceMultiplier = 2.0; // Item count multiplier for double drops, 1.5 gives 50% more on average
+        private boolean deferCommands = false; // Run drop commands at the end of the tick instead of during the death
+        private int maxCommandsPerTick = 50; // Deferred commands run per tick, 0 for no limit
+        private double commandTickBudgetMs = 5.0; // Time deferred commands may take per tick, 0 for no limit
+        private boolean persistCommandCooldowns = false; // Keep running command cooldowns across restarts
+        private boolean watchConfigFiles = false; // Reload changed drop files automatically while the server runs
         private String comment = "Event configuration for EntityLootDrops mod";
 
         public EventConfigData() {
@@ -76,14 +88,38 @@ public class EventConfig {
         public double getDoubleDropChanceMultiplier() { return doubleDropChanceMultiplier; }
         public void setDoubleDropChanceMultiplier(double doubleDropChanceMultiplier) { this.doubleDropChanceMultiplier = doubleDropChanceMultiplier; }
 
+        public boolean isDeferCommands() { return deferCommands; }
+        public void setDeferCommands(boolean deferCommands) { this.deferCommands = deferCommands; }
+
+        public int getMaxCommandsPerTick() { return maxCommandsPerTick; }
+        public void setMaxCommandsPerTick(int maxCommandsPerTick) { this.maxCommandsPerTick = maxCommandsPerTick; }
+
+        public double getCommandTickBudgetMs() { return commandTickBudgetMs; }
+        public void setCommandTickBudgetMs(double commandTickBudgetMs) { this.commandTickBudgetMs = commandTickBudgetMs; }
+
+        public boolean isPersistCommandCooldowns() { return persistCommandCooldowns; }
+        public void setPersistCommandCooldowns(boolean persistCommandCooldowns) { this.persistCommandCooldowns = persistCommandCooldowns; }
+
+        public boolean isWatchConfigFiles() { return watchConfigFiles; }
+        public void setWatchConfigFiles(boolean watchConfigFiles) { this.watchConfigFiles = watchConfigFiles; }
+
         public String getComment() { return comment; }
         public void setComment(String comment) { this.comment = comment; }
     }
 
     /**
-     * Loads the event configuration from file.
+     * Loads the event configuration from file and applies it.
      */
     public static void loadConfig() {
+        applyConfig(readConfig());
+    }
+
+    /**
+     * Reads the event configuration from file, creating the default file if it does not exist.
+     * Does not change the live configuration or read the registries, so it may run on any thread.
+     */
+    public static EventConfigData readConfig() {
+        EventConfigData data = new EventConfigData();
         Path configDir = Paths.get(CONFIG_DIR);
         Path configFile = configDir.resolve(EVENT_CONFIG_FILE);
 
@@ -100,20 +136,20 @@ public class EventConfig {
             } else {
                 String json = Files.readString(configFile);
                 Gson gson = new Gson();
-                config = gson.fromJson(json, EventConfigData.class);
+                EventConfigData loaded = gson.fromJson(json, EventConfigData.class);
 
                 // Validate loaded config
-                if (config == null) {
+                if (loaded == null) {
                     LOGGER.warn("Failed to parse event configuration, creating new default");
-                    config = new EventConfigData();
                     createDefaultConfig(configFile);
                 } else {
+                    data = loaded;
                     LOGGER.info("Loaded event configuration from: {}", configFile);
                 }
             }
         } catch (Exception e) {
             LOGGER.error("Failed to load event configuration, using defaults", e);
-            config = new EventConfigData();
+            data = new EventConfigData();
 
             // Try to create default config as fallback
             try {
@@ -122,6 +158,45 @@ public class EventConfig {
                 LOGGER.error("Failed to create default event configuration", ioException);
             }
         }
+        return data;
+    }
+
+    /**
+     * Makes a configuration from {@link #readConfig()} the live one and decides which item namespaces it affects.
+     * Reads the item registry, so outside of startup this must run on the server thread.
+     */
+    public static void applyConfig(EventConfigData data) {
+        config = data;
+        if (config.isDeferCommands()) {
+            LOGGER.info("Drop commands are deferred to the end of the tick (deferCommands in EventConfig.json)");
+        }
+        namespaceDecisions = NamespaceDecisions.compile();
+    }
+
+    /**
+     * The result of {@link #shouldAffectMod(String)} per namespace index from {@link ItemNamespaces}.
+     * Namespaces of registered items are decided when the config loads; any other namespace is decided
+     * the first time it is seen, which only happens on the server thread.
+     */
+    private static final class NamespaceDecisions {
+        private final BitSet decided = new BitSet();
+        private final BitSet affected = new BitSet();
+
+        static NamespaceDecisions compile() {
+            NamespaceDecisions decisions = new NamespaceDecisions();
+            for (ResourceLocation itemId : ForgeRegistries.ITEMS.getKeys()) {
+                decisions.isAffected(ItemNamespaces.indexOfNamespace(itemId.getNamespace()));
+            }
+            return decisions;
+        }
+
+        boolean isAffected(int namespaceIndex) {
+            if (!decided.get(namespaceIndex)) {
+                affected.set(namespaceIndex, shouldAffectMod(ItemNamespaces.getNamespace(namespaceIndex)));
+                decided.set(namespaceIndex);
+            }
+            return affected.get(namespaceIndex);
+        }
     }
 
     /**
@@ -141,6 +216,11 @@ public class EventConfig {
               "affectModdedDrops": true,
               "dropChanceMultiplier": 0.5,
               "doubleDropChanceMultiplier": 2.0,
+              "deferCommands": false,
+              "maxCommandsPerTick": 50,
+              "commandTickBudgetMs": 5.0,
+              "persistCommandCooldowns": false,
+              "watchConfigFiles": false,
               "allowedMods": [
                 "minecraft",
                 "mmorpg",
@@ -202,6 +282,15 @@ public class EventConfig {
         return config.getAllowedMods().contains(modId);
     }
 
+    /**
+     * Checks if drop events affect an item, by the namespace index of the item.
+     *
+     * @param namespaceIndex the index from {@link ItemNamespaces#indexOfItem}
+     */
+    public static boolean shouldAffectNamespace(int namespaceIndex) {
+        return namespaceIndex != ItemNamespaces.UNKNOWN && namespaceDecisions.isAffected(namespaceIndex);
+    }
+
     /**
      * Gets the drop chance multiplier.
      */
@@ -216,6 +305,41 @@ public class EventConfig {
         return config.getDoubleDropChanceMultiplier();
     }
 
+    /**
+     * Checks if drop commands are queued and run at the end of the server tick.
+     */
+    public static boolean isDeferCommands() {
+        return config.isDeferCommands();
+    }
+
+    /**
+     * Gets the maximum number of deferred commands run per tick, 0 for no limit.
+     */
+    public static int getMaxCommandsPerTick() {
+        return config.getMaxCommandsPerTick();
+    }
+
+    /**
+     * Gets the time deferred commands may take per tick in milliseconds, 0 for no limit.
+     */
+    public static double getCommandTickBudgetMs() {
+        return config.getCommandTickBudgetMs();
+    }
+
+    /**
+     * Checks if running command cooldowns are saved when the server stops and restored when it starts.
+     */
+    public static boolean isPersistCommandCooldowns() {
+        return config.isPersistCommandCooldowns();
+    }
+
+    /**
+     * Checks if changed drop files are reloaded automatically while the server runs.
+     */
+    public static boolean isWatchConfigFiles() {
+        return config.isWatchConfigFiles();
+    }
+
     /**
      * Gets the current configuration data.
      */
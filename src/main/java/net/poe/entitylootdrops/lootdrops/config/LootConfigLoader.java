@@ -9,14 +9,16 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -49,50 +51,121 @@ public class LootConfigLoader {
     private final LootConfigManager configManager;
     private final LootEventManager eventManager;
 
+    // Every parsed drop file by path, so a change to one file does not require reading the others again
+    private Map<Path, DropFileLoader.DropFile> loadedFiles = new TreeMap<>();
+    // Held while a configuration is prepared, so two loads never write example files or the cache at once
+    private final Object prepareLock = new Object();
+    private volatile long lastDropLoadMillis;
+    private volatile long lastCacheReadMillis = -1;
+
     public LootConfigLoader(LootConfigManager configManager, LootEventManager eventManager) {
         this.configManager = configManager;
         this.eventManager = eventManager;
     }
 
     /**
-     * Loads all loot drop configurations.
+     * A configuration read from disk that has not been published yet.
+     */
+    public static final class PreparedConfig {
+        private final LootConfigSnapshot snapshot;
+        private final Map<Path, DropFileLoader.DropFile> files;
+        private final EventConfig.EventConfigData eventConfig;
+        private final Exception error;      // Why the drop files could not be loaded, or null
+
+        private PreparedConfig(LootConfigSnapshot snapshot, Map<Path, DropFileLoader.DropFile> files,
+                               EventConfig.EventConfigData eventConfig, Exception error) {
+            this.snapshot = snapshot;
+            this.files = files;
+            this.eventConfig = eventConfig;
+            this.error = error;
+        }
+
+        public LootConfigSnapshot getSnapshot() { return snapshot; }
+        public Exception getError() { return error; }
+    }
+
+    /**
+     * Loads all loot drop configurations and publishes them on the calling thread.
      */
     public void loadConfig() {
-        LOGGER.info("Starting loot configuration loading...");
+        publishConfig(prepareConfig());
+    }
 
-        // Store current active events
-        Set<String> previousActiveEvents = new HashSet<>(eventManager.getActiveEvents());
-        boolean previousDropChanceState = eventManager.isDropChanceEventActive();
-        boolean previousDoubleDropsState = eventManager.isDoubleDropsActive();
-        boolean previousDebugState = eventManager.isDebugLoggingEnabled();
+    /**
+     * Does the slow part of a reload: creates missing directories and example files, reads the event config,
+     * then finds and parses every drop file into a new snapshot.
+     * Does not change the live configuration or event state and does not touch the registries, so it may run on any thread.
+     * If the drop files cannot be loaded, the failure is returned in {@link PreparedConfig#getError()}.
+     */
+    public PreparedConfig prepareConfig() {
+        return prepareConfig(false);
+    }
 
-        // Clear existing configurations
-        configManager.clearConfigurations();
+    /**
+     * Prepares a configuration, optionally deleting the binary drop cache first so every drop file is parsed
+     * and the cache is written again. A rebuild then times a read of the new cache, see {@link #getLastCacheReadMillis()}.
+     */
+    public PreparedConfig prepareConfig(boolean rebuildCache) {
+        synchronized (prepareLock) {
+            LOGGER.info("Starting loot configuration loading...");
+            if (rebuildCache) {
+                DropCache.delete();
+            }
 
-        // Create directories if they don't exist
-        createConfigDirectories();
+            // Create directories if they don't exist
+            createConfigDirectories();
 
-        // Create example files on first load
-        createExampleFiles();
+            // Create example files on first load
+            createExampleFiles();
 
-        // Check and regenerate Global_Hostile_Drops.json if needed
-        checkAndRegenerateGlobalHostileDrops();
+            // Check and regenerate Global_Hostile_Drops.json if needed
+            checkAndRegenerateGlobalHostileDrops();
 
-        // Load EventConfig (this will create EventConfig.json if it doesn't exist)
-        try {
-            EventConfig.loadConfig();
-            LOGGER.info("EventConfig loaded successfully");
-        } catch (Exception e) {
-            LOGGER.error("Failed to load EventConfig", e);
-        }
+            // Read EventConfig (this will create EventConfig.json if it doesn't exist); it is applied when published
+            EventConfig.EventConfigData eventConfig = EventConfig.readConfig();
 
-        // Create Active_Events.json if it doesn't exist
-        try {
-            eventManager.createActiveEventsFile();
-            LOGGER.info("Active_Events.json created/verified");
-        } catch (Exception e) {
-            LOGGER.error("Failed to create Active_Events.json", e);
+            // Create Active_Events.json if it doesn't exist
+            try {
+                eventManager.createActiveEventsFile();
+                LOGGER.info("Active_Events.json created/verified");
+            } catch (Exception e) {
+                LOGGER.error("Failed to create Active_Events.json", e);
+            }
+
+            // Load all drop configurations into a new snapshot; the current one stays live until it is published
+            LootConfigSnapshot.Builder snapshot = LootConfigSnapshot.builder();
+            Map<Path, DropFileLoader.DropFile> files = new TreeMap<>();
+            Exception error = null;
+            try {
+                loadAllDrops(snapshot, files);
+            } catch (Exception e) {
+                LOGGER.error("Failed to load drop configurations", e);
+                error = e;
+            }
+
+            if (rebuildCache) {
+                lastCacheReadMillis = error == null ? timeCacheRead() : -1;
+            }
+            return new PreparedConfig(snapshot.build(), files, eventConfig, error);
         }
+    }
+
+    /**
+     * Applies the event config, resolves the drops, loads the active events and custom messages and swaps in
+     * a prepared configuration. These read the registries and touch state the death path reads,
+     * so outside of startup this must run on the server thread.
+     */
+    public void publishConfig(PreparedConfig prepared) {
+        EventConfig.applyConfig(prepared.eventConfig);
+
+        // Resolve item, effect, dimension and biome ids once instead of on every death
+        resolveDrops(prepared.snapshot.getAllDrops());
+
+        // Store current active events
+        Set<String> previousActiveEvents = new HashSet<>(eventManager.getActiveEvents());
+        boolean previousDropChanceState = eventManager.isDropChanceEventActive();
+        boolean previousDoubleDropsState = eventManager.isDoubleDropsActive();
+        boolean previousDebugState = eventManager.isDebugLoggingEnabled();
 
         // Load active events from Active_Events.json
         boolean activeEventsLoaded = false;
@@ -104,9 +177,6 @@ public class LootConfigLoader {
             LOGGER.error("Failed to load active events from file", e);
         }
 
-        // Load all drop configurations
-        loadAllDrops();
-
         // Load custom message configurations
         loadMessages();
 
@@ -115,6 +185,12 @@ public class LootConfigLoader {
             eventManager.restorePreviousState(previousActiveEvents, previousDropChanceState, previousDoubleDropsState, previousDebugState);
             LOGGER.info("Used previous state as fallback since no active events file was loaded");
         }
+
+        // Swap in the complete configuration and its active drop plan
+        synchronized (this) {
+            loadedFiles = prepared.files;
+            configManager.publish(prepared.snapshot, eventManager.getActiveEvents());
+        }
     }
 
     /**
@@ -525,167 +601,263 @@ public class LootConfigLoader {
 
     /**
      * Loads all drop configurations from the loot drops directory.
+     * Files are found and parsed in parallel, then merged per directory in path order.
+     * If the binary cache was written for exactly these files and mods, it is read instead of the JSON.
+     * Failures are thrown to the caller, so a reload that could not read the drops is not reported as a success.
      */
-    private void loadAllDrops() {
-        try {
-            Path lootDropsDir = Paths.get(CONFIG_DIR, LOOT_DROPS_DIR);
-            if (!Files.exists(lootDropsDir)) {
-                LOGGER.warn("Loot drops directory does not exist: {}", lootDropsDir);
-                return;
-            }
+    private void loadAllDrops(LootConfigSnapshot.Builder snapshot, Map<Path, DropFileLoader.DropFile> loaded) throws IOException {
+        long start = System.nanoTime();
+        Path lootDropsDir = Paths.get(CONFIG_DIR, LOOT_DROPS_DIR);
+        if (!Files.exists(lootDropsDir)) {
+            LOGGER.warn("Loot drops directory does not exist: {}", lootDropsDir);
+            return;
+        }
 
-            // Load normal drops
-            Path normalDropsDir = lootDropsDir.resolve(NORMAL_DROPS_DIR);
-            if (Files.exists(normalDropsDir)) {
-                LOGGER.info("Loading normal drops from: {}", normalDropsDir);
-                loadDropsFromDirectory(normalDropsDir, NORMAL_DROPS_DIR);
+        List<DropFileLoader.DropFile> discovered = DropFileLoader.discoverAll(findDropDirectories());
+        byte[] cacheKey = computeCacheKey(discovered);
+        List<DropFileLoader.DropFile> files = cacheKey != null ? DropCache.read(cacheKey) : null;
+        boolean cached = files != null;
+        if (!cached) {
+            files = DropFileLoader.parseAll(discovered);
+            if (cacheKey != null) {
+                DropCache.write(cacheKey, files);
             }
+        }
 
-            // Load event drops
-            Path eventDropsDir = lootDropsDir.resolve(EVENT_DROPS_DIR);
-            if (Files.exists(eventDropsDir)) {
-                LOGGER.info("Loading event drops from: {}", eventDropsDir);
-                Files.walk(eventDropsDir, 1)
-                        .filter(Files::isDirectory)
+        for (DropFileLoader.DropFile file : files) {
+            loaded.put(file.getPath(), file);
+        }
+        int entryCount = mergeFiles(loaded, snapshot);
+
+        lastDropLoadMillis = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Loaded {} drop entries from {} files in {} ms ({})", entryCount, files.size(),
+                lastDropLoadMillis, cached ? "binary cache" : "parsed JSON");
+    }
+
+    /**
+     * Lists the normal drops directory and every event directory, in the order they are loaded.
+     */
+    private List<DropFileLoader.DropDirectory> findDropDirectories() throws IOException {
+        Path lootDropsDir = Paths.get(CONFIG_DIR, LOOT_DROPS_DIR);
+        List<DropFileLoader.DropDirectory> directories = new ArrayList<>();
+
+        // Load normal drops
+        Path normalDropsDir = lootDropsDir.resolve(NORMAL_DROPS_DIR);
+        if (Files.exists(normalDropsDir)) {
+            LOGGER.info("Loading normal drops from: {}", normalDropsDir);
+            directories.add(new DropFileLoader.DropDirectory(NORMAL_DROPS_DIR, normalDropsDir));
+        }
+
+        // Load event drops
+        Path eventDropsDir = lootDropsDir.resolve(EVENT_DROPS_DIR);
+        if (Files.exists(eventDropsDir)) {
+            LOGGER.info("Loading event drops from: {}", eventDropsDir);
+            try (Stream<Path> eventDirs = Files.walk(eventDropsDir, 1)) {
+                eventDirs.filter(Files::isDirectory)
                         .filter(path -> !path.equals(eventDropsDir))
-                        .forEach(eventDir -> {
-                            String eventName = eventDir.getFileName().toString();
-                            LOGGER.info("Loading event drops for: {}", eventName);
-                            loadDropsFromDirectory(eventDir, eventName);
-                        });
+                        .sorted()
+                        .forEach(eventDir -> directories.add(new DropFileLoader.DropDirectory(
+                                eventDir.getFileName().toString(), eventDir)));
             }
+        }
+        return directories;
+    }
 
-        } catch (Exception e) {
-            LOGGER.error("Failed to load drop configurations", e);
+    /**
+     * Computes the binary cache key of the discovered files, or returns null if a file cannot be read.
+     */
+    private byte[] computeCacheKey(List<DropFileLoader.DropFile> discovered) {
+        try {
+            return DropCache.computeKey(discovered);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to hash drop files, not using the binary cache: {}", e.toString());
+            return null;
         }
     }
 
     /**
-     * Loads drops from a specific directory.
+     * Times a load of the drop files from the binary cache that was just written.
+     *
+     * @return the time a load from the cache takes in milliseconds, or -1 if it cannot be read
      */
-    private void loadDropsFromDirectory(Path directory, String dirKey) {
+    private long timeCacheRead() {
+        long start = System.nanoTime();
         try {
-            // Load general drops (not in Mobs subdirectory)
-            List<CustomDropEntry> generalDrops = loadGeneralDropsFromDirectory(directory);
-            if (!generalDrops.isEmpty()) {
-                configManager.setHostileDrops(dirKey, generalDrops);
-                LOGGER.info("Loaded {} general drops for {}", generalDrops.size(), dirKey);
+            List<DropFileLoader.DropFile> discovered = DropFileLoader.discoverAll(findDropDirectories());
+            byte[] cacheKey = computeCacheKey(discovered);
+            if (cacheKey == null || DropCache.read(cacheKey) == null) {
+                return -1;
             }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to time loading from the drop cache: {}", e.toString());
+            return -1;
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Gets the time the last full load spent finding, reading and merging drop files, in milliseconds.
+     */
+    public long getLastDropLoadMillis() {
+        return lastDropLoadMillis;
+    }
+
+    /**
+     * Gets the time the last cache rebuild took to read the new cache, in milliseconds, or -1 if it could not be read.
+     */
+    public long getLastCacheReadMillis() {
+        return lastCacheReadMillis;
+    }
 
-            // Load entity-specific drops from Mobs directories
-            List<EntityDropEntry> entityDrops = loadEntityDropsFromMobsDirectories(directory);
-            if (!entityDrops.isEmpty()) {
-                configManager.setEntityDrops(dirKey, entityDrops);
-                LOGGER.info("Loaded {} entity drops for {}", entityDrops.size(), dirKey);
+    /**
+     * Adds the drops of the given files to the snapshot, per directory in path order, and returns how many there were.
+     */
+    private static int mergeFiles(Map<Path, DropFileLoader.DropFile> files, LootConfigSnapshot.Builder snapshot) {
+        Map<String, List<CustomDropEntry>> generalDrops = new TreeMap<>();
+        Map<String, List<EntityDropEntry>> entityDrops = new TreeMap<>();
+        for (DropFileLoader.DropFile file : files.values()) {
+            if (file.isEntityDrops()) {
+                List<EntityDropEntry> drops = entityDrops.computeIfAbsent(file.getDirKey(), k -> new ArrayList<>());
+                for (CustomDropEntry drop : file.getDrops()) {
+                    drops.add((EntityDropEntry) drop);
+                }
+            } else {
+                generalDrops.computeIfAbsent(file.getDirKey(), k -> new ArrayList<>()).addAll(file.getDrops());
             }
+        }
 
-        } catch (Exception e) {
-            LOGGER.error("Failed to load drops from directory: {}", directory, e);
+        int entryCount = 0;
+        for (Map.Entry<String, List<CustomDropEntry>> entry : generalDrops.entrySet()) {
+            snapshot.setHostileDrops(entry.getKey(), entry.getValue());
+            entryCount += entry.getValue().size();
+            LOGGER.debug("Merged {} general drops for {}", entry.getValue().size(), entry.getKey());
         }
+        for (Map.Entry<String, List<EntityDropEntry>> entry : entityDrops.entrySet()) {
+            snapshot.setEntityDrops(entry.getKey(), entry.getValue());
+            entryCount += entry.getValue().size();
+            LOGGER.debug("Merged {} entity drops for {}", entry.getValue().size(), entry.getKey());
+        }
+        return entryCount;
     }
 
     /**
-     * Loads general (non-entity-specific) drops from a directory.
+     * Gets the directory watched for drop file changes.
      */
-    private List<CustomDropEntry> loadGeneralDropsFromDirectory(Path directory) {
-        List<CustomDropEntry> allDrops = new ArrayList<>();
+    Path getLootDropsDir() {
+        return Paths.get(CONFIG_DIR, LOOT_DROPS_DIR);
+    }
 
-        try {
-            Files.walk(directory, 1)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".json"))
-                    .filter(path -> !isInMobsDirectory(path))
-                    .forEach(jsonFile -> {
-                        try {
-                            String json = new String(Files.readAllBytes(jsonFile));
-                            if (json.trim().isEmpty()) {
-                                LOGGER.warn("Empty JSON file: {}", jsonFile);
-                                return;
-                            }
-
-                            Gson gson = new Gson();
-                            CustomDropEntry[] drops = gson.fromJson(json, CustomDropEntry[].class);
-                            if (drops != null) {
-                                for (CustomDropEntry drop : drops) {
-                                    if (drop != null) {
-                                        allDrops.add(drop);
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            LOGGER.error("Failed to load general drops from file: {}", jsonFile, e);
-                        }
-                    });
-        } catch (Exception e) {
-            LOGGER.error("Failed to walk directory for general drops: {}", directory, e);
+    /**
+     * Checks if a path is the custom messages file.
+     */
+    boolean isMessagesFile(Path path) {
+        return path.equals(getLootDropsDir().resolve(MESSAGES_FILE));
+    }
+
+    /**
+     * Parses a single file again, or returns null if it is not a drop file.
+     * Does not change the loaded configuration, so it may run on any thread.
+     */
+    DropFileLoader.DropFile readDropFile(Path file) {
+        Path normalDropsDir = getLootDropsDir().resolve(NORMAL_DROPS_DIR);
+        if (file.startsWith(normalDropsDir)) {
+            return DropFileLoader.read(new DropFileLoader.DropDirectory(NORMAL_DROPS_DIR, normalDropsDir), file);
         }
 
-        return allDrops;
+        Path eventDropsDir = getLootDropsDir().resolve(EVENT_DROPS_DIR);
+        if (file.startsWith(eventDropsDir) && file.getNameCount() > eventDropsDir.getNameCount() + 1) {
+            Path eventDir = eventDropsDir.resolve(file.getName(eventDropsDir.getNameCount()));
+            return DropFileLoader.read(new DropFileLoader.DropDirectory(eventDir.getFileName().toString(), eventDir), file);
+        }
+        return null;
     }
 
     /**
-     * Loads entity-specific drops from all Mobs directories within a category.
-     * Now supports nested folders within Mobs directories.
+     * Replaces changed drop files with their new contents and publishes the result.
+     * A null value means the path was deleted, which removes every loaded file at or below it.
+     * Files that no longer parse keep their previous drops. Only the entries of the changed files
+     * are resolved again; all other entries keep their resolved state.
+     * Must run on the server thread, since it resolves entries against the registries and publishes.
+     *
+     * @return a summary of what changed, or null if no loaded drops were affected
      */
-    private List<EntityDropEntry> loadEntityDropsFromMobsDirectories(Path categoryDir) {
-        List<EntityDropEntry> allEntityDrops = new ArrayList<>();
+    synchronized String applyFileChanges(Map<Path, DropFileLoader.DropFile> changes) {
+        long start = System.nanoTime();
+        int entriesBefore = countLoadedEntries();
+        int updated = 0;
+        int added = 0;
+        int removed = 0;
+        int failed = 0;
+        List<CustomDropEntry> changedDrops = new ArrayList<>();
+
+        for (Map.Entry<Path, DropFileLoader.DropFile> change : changes.entrySet()) {
+            Path path = change.getKey();
+            DropFileLoader.DropFile file = change.getValue();
+            if (file == null) {
+                // A deleted directory is reported once, without its files
+                Iterator<Path> iterator = loadedFiles.keySet().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().startsWith(path)) {
+                        iterator.remove();
+                        removed++;
+                    }
+                }
+            } else if (!file.isValid()) {
+                failed++;
+                if (loadedFiles.containsKey(path)) {
+                    LOGGER.warn("Keeping the previous drops of {} until it parses again", path);
+                }
+            } else {
+                if (loadedFiles.put(path, file) == null) {
+                    added++;
+                } else {
+                    updated++;
+                }
+                changedDrops.addAll(file.getDrops());
+            }
+        }
 
-        try {
-            LOGGER.info("Looking for Mobs directories in: {}", categoryDir);
-
-            Files.walk(categoryDir)
-                    .filter(Files::isDirectory)
-                    .filter(path -> path.getFileName().toString().equals(MOBS_DIR))
-                    .forEach(mobsDir -> {
-                        LOGGER.info("Found Mobs directory: {}", mobsDir);
-                        try {
-                            // Use Files.walk() to support nested folders within Mobs directory
-                            Files.walk(mobsDir)
-                                    .filter(Files::isRegularFile)
-                                    .filter(path -> path.toString().endsWith(".json"))
-                                    .forEach(jsonFile -> {
-                                        LOGGER.info("Processing entity drops file: {}", jsonFile);
-                                        try {
-                                            String json = new String(Files.readAllBytes(jsonFile));
-                                            if (json.trim().isEmpty()) {
-                                                LOGGER.warn("Empty JSON file: {}", jsonFile);
-                                                return;
-                                            }
-
-                                            Gson gson = new Gson();
-                                            EntityDropEntry[] drops = gson.fromJson(json, EntityDropEntry[].class);
-                                            if (drops != null) {
-                                                for (EntityDropEntry drop : drops) {
-                                                    if (drop != null && drop.getEntityId() != null) {
-                                                        allEntityDrops.add(drop);
-                                                        LOGGER.info("Loaded entity drop for {} from file: {}",
-                                                                drop.getEntityId(), jsonFile);
-                                                    }
-                                                }
-                                            } else {
-                                                LOGGER.warn("Failed to parse JSON or got null from file: {}", jsonFile);
-                                            }
-                                        } catch (Exception e) {
-                                            LOGGER.error("Failed to load entity drops from file: {}", jsonFile, e);
-                                        }
-                                    });
-                        } catch (Exception e) {
-                            LOGGER.error("Failed to walk Mobs directory: {}", mobsDir, e);
-                        }
-                    });
-        } catch (Exception e) {
-            LOGGER.error("Failed to find Mobs directories in: {}", categoryDir, e);
+        if (updated + added + removed == 0) {
+            return failed > 0 ? String.format("%d changed drop files could not be parsed, see the log", failed) : null;
+        }
+
+        DropEntryResolver.resolveAll(changedDrops, configManager.getAllDrops());
+        LootConfigSnapshot.Builder snapshot = LootConfigSnapshot.builder();
+        int entriesAfter = mergeFiles(loadedFiles, snapshot);
+        configManager.publish(snapshot.build(), eventManager.getActiveEvents());
+
+        return String.format("Reloaded drop files: %d updated, %d added, %d removed, %d failed; %d -> %d entries in %d ms",
+                updated, added, removed, failed, entriesBefore, entriesAfter, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int countLoadedEntries() {
+        int count = 0;
+        for (DropFileLoader.DropFile file : loadedFiles.values()) {
+            count += file.getDrops().size();
         }
+        return count;
+    }
 
-        LOGGER.info("Total entity drops loaded: {}", allEntityDrops.size());
-        return allEntityDrops;
+    /**
+     * Resolves the identifiers of every loaded drop entry against the registries
+     * and rebuilds their prototype item stacks.
+     * Unresolvable identifiers are reported here, once per load.
+     * Entries keep their learned requirement order as long as their requirements did not change.
+     */
+    public void resolveDrops() {
+        resolveDrops(configManager.getAllDrops());
+    }
+
+    private void resolveDrops(List<CustomDropEntry> allDrops) {
+        DropEntryResolver.resolveAll(allDrops, configManager.getAllDrops());
+        LOGGER.debug("Resolved {} drop entries", allDrops.size());
     }
 
     /**
-     * Checks if a path is within a Mobs directory.
+     * Reads the custom messages file again.
      */
-    private boolean isInMobsDirectory(Path path) {
-        return path.toString().contains(MOBS_DIR);
+    synchronized void reloadMessages() {
+        loadMessages();
     }
 
     /**
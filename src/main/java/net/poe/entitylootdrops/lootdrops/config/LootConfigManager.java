@@ -28,81 +28,121 @@ public class LootConfigManager {
     private static final String NORMAL_DROPS_DIR = "Normal Drops";
     private static final String EVENT_DROPS_DIR = "Event Drops";
 
-    // Storage for loaded drop configurations
-    private Map<String, List<EntityDropEntry>> entityDrops = new HashMap<>();
-    private Map<String, List<CustomDropEntry>> hostileDrops = new HashMap<>();
-    private Map<String, String> customMessages = new HashMap<>();
+    // The currently published configuration, its expanded entity drops and active plan, replaced as one reference
+    private volatile Published published = Published.EMPTY;
 
     /**
-     * Clears all loaded configurations.
+     * Everything the death path reads, so a reader never sees a snapshot with another snapshot's table or plan.
      */
-    public void clearConfigurations() {
-        entityDrops.clear();
-        hostileDrops.clear();
-        customMessages.clear();
+    private static final class Published {
+        static final Published EMPTY = new Published(LootConfigSnapshot.EMPTY, EntityDropTable.EMPTY, ActiveDropPlan.EMPTY);
+
+        private final LootConfigSnapshot snapshot;
+        private final EntityDropTable entityDrops;    // The snapshot's entity drops expanded per entity type
+        private final ActiveDropPlan activePlan;      // The drops that apply under the active events
+
+        Published(LootConfigSnapshot snapshot, EntityDropTable entityDrops, ActiveDropPlan activePlan) {
+            this.snapshot = snapshot;
+            this.entityDrops = entityDrops;
+            this.activePlan = activePlan;
+        }
     }
 
     /**
-     * Sets entity drops for a specific directory/event.
+     * Publishes a fully built configuration together with the plan for the given active events.
+     * Readers that already hold the previous plan keep using it until they finish.
      */
-    public void setEntityDrops(String dirKey, List<EntityDropEntry> drops) {
-        if (drops != null && !drops.isEmpty()) {
-            entityDrops.put(dirKey, drops);
-        }
+    public synchronized void publish(LootConfigSnapshot newSnapshot, Set<String> activeEvents) {
+        EntityDropTable newEntityDrops = EntityDropTable.build(newSnapshot.getDropIndex());
+        published = new Published(newSnapshot, newEntityDrops,
+                ActiveDropPlan.build(newSnapshot, newEntityDrops, activeEvents));
+        LOGGER.debug("Published drop configuration with entity drops for {} entity types", newEntityDrops.size());
     }
 
     /**
-     * Sets hostile drops for a specific directory/event.
+     * Expands the entity drops again and rebuilds the active drop plan, so tag and
+     * registry changes take effect without reloading the configuration.
      */
-    public void setHostileDrops(String dirKey, List<CustomDropEntry> drops) {
-        if (drops != null && !drops.isEmpty()) {
-            hostileDrops.put(dirKey, drops);
-        }
+    public synchronized void refreshEntityDrops(Set<String> activeEvents) {
+        LootConfigSnapshot current = published.snapshot;
+        EntityDropTable newEntityDrops = EntityDropTable.build(current.getDropIndex());
+        published = new Published(current, newEntityDrops, ActiveDropPlan.build(current, newEntityDrops, activeEvents));
+        LOGGER.debug("Rebuilt entity drops for {} entity types", newEntityDrops.size());
     }
 
     /**
-     * Sets custom messages for the configuration.
+     * Rebuilds the active drop plan after events were enabled or disabled.
      */
-    public void setCustomMessages(Map<String, String> messages) {
-        if (messages != null) {
-            customMessages.clear();
-            customMessages.putAll(messages);
-        }
+    public synchronized void updateActiveEvents(Set<String> activeEvents) {
+        Published current = published;
+        ActiveDropPlan newPlan = ActiveDropPlan.build(current.snapshot, current.entityDrops, activeEvents);
+        published = new Published(current.snapshot, current.entityDrops, newPlan);
+        LOGGER.debug("Rebuilt active drop plan for events {}", newPlan.getActiveEventKeys());
+    }
+
+    /**
+     * Gets the drop plan for the current configuration and active events.
+     * Callers should read this once and use the result for the whole operation.
+     */
+    public ActiveDropPlan getActivePlan() {
+        return published.activePlan;
+    }
+
+    /**
+     * Gets the currently published configuration.
+     * Callers should read this once and use the result for the whole operation.
+     */
+    public LootConfigSnapshot getSnapshot() {
+        return published.snapshot;
+    }
+
+    /**
+     * Gets the drop index used by the death path.
+     */
+    public DropIndex getDropIndex() {
+        return published.snapshot.getDropIndex();
+    }
+
+    /**
+     * Gets the directory key used for the normal (always active) drops.
+     */
+    public static String getNormalDropsKey() {
+        return NORMAL_DROPS_DIR;
     }
 
     /**
      * Gets all custom messages.
      */
     public Map<String, String> getCustomMessages() {
-        return new HashMap<>(customMessages);
+        return new HashMap<>(published.snapshot.getCustomMessages());
     }
 
     /**
      * Gets a specific custom message by key.
      */
     public String getCustomMessage(String key) {
-        return customMessages.get(key);
+        return published.snapshot.getCustomMessages().get(key);
     }
 
     /**
      * Gets the normal (always active) entity-specific drops.
      */
     public List<EntityDropEntry> getNormalDrops() {
-        return entityDrops.getOrDefault(NORMAL_DROPS_DIR, Collections.emptyList());
+        return published.snapshot.getEntityDrops().getOrDefault(NORMAL_DROPS_DIR, Collections.emptyList());
     }
 
     /**
      * Gets the normal (always active) hostile mob drops.
      */
     public List<CustomDropEntry> getNormalHostileDrops() {
-        return hostileDrops.getOrDefault(NORMAL_DROPS_DIR, Collections.emptyList());
+        return published.snapshot.getHostileDrops().getOrDefault(NORMAL_DROPS_DIR, Collections.emptyList());
     }
 
     /**
      * Gets all event-specific entity drops.
      */
     public Map<String, List<EntityDropEntry>> getEventDrops() {
-        return entityDrops.entrySet().stream()
+        return published.snapshot.getEntityDrops().entrySet().stream()
                 .filter(e -> !e.getKey().equals(NORMAL_DROPS_DIR))
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
@@ -111,14 +151,14 @@ public class LootConfigManager {
      * Gets the hostile mob drops for a specific event.
      */
     public List<CustomDropEntry> getEventHostileDrops(String eventName) {
-        return hostileDrops.getOrDefault(eventName, Collections.emptyList());
+        return published.snapshot.getHostileDrops().getOrDefault(eventName, Collections.emptyList());
     }
 
     /**
      * Gets entity drops for a specific event.
      */
     public List<EntityDropEntry> getEventEntityDrops(String eventName) {
-        return entityDrops.getOrDefault(eventName, Collections.emptyList());
+        return published.snapshot.getEntityDrops().getOrDefault(eventName, Collections.emptyList());
     }
 
     /**
@@ -157,11 +197,18 @@ public class LootConfigManager {
         return getAllEventNames();
     }
 
+    /**
+     * Gets every loaded drop entry across all configurations.
+     */
+    public List<CustomDropEntry> getAllDrops() {
+        return published.snapshot.getAllDrops();
+    }
+
     /**
      * Gets the count of entity drops across all configurations.
      */
     public int getEntityDropsCount() {
-        return entityDrops.values().stream()
+        return published.snapshot.getEntityDrops().values().stream()
                 .mapToInt(List::size)
                 .sum();
     }
@@ -170,7 +217,7 @@ public class LootConfigManager {
      * Gets the count of hostile drops across all configurations.
      */
     public int getHostileDropsCount() {
-        return hostileDrops.values().stream()
+        return published.snapshot.getHostileDrops().values().stream()
                 .mapToInt(List::size)
                 .sum();
     }
@@ -0,0 +1,145 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+
+/**
+ * A complete, immutable view of the loaded drop configuration.
+ * A reload builds a new snapshot off to the side and publishes it in one step,
+ * so readers either see the old configuration or the new one, never a mix of both.
+ */
+public final class LootConfigSnapshot {
+    public static final LootConfigSnapshot EMPTY = new Builder().build();
+
+    private final Map<String, List<EntityDropEntry>> entityDrops;
+    private final Map<String, List<CustomDropEntry>> hostileDrops;
+    private final Map<String, String> customMessages;
+    private final DropIndex dropIndex;
+
+    private LootConfigSnapshot(Map<String, List<EntityDropEntry>> entityDrops,
+                               Map<String, List<CustomDropEntry>> hostileDrops,
+                               Map<String, String> customMessages) {
+        this.entityDrops = entityDrops;
+        this.hostileDrops = hostileDrops;
+        this.customMessages = customMessages;
+        this.dropIndex = DropIndex.build(entityDrops, hostileDrops, LootConfigManager.getNormalDropsKey());
+    }
+
+    /**
+     * Creates a builder for a new snapshot.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the per-entity drop index of this snapshot.
+     */
+    public DropIndex getDropIndex() {
+        return dropIndex;
+    }
+
+    /**
+     * Gets the entity drops keyed by directory/event name.
+     */
+    public Map<String, List<EntityDropEntry>> getEntityDrops() {
+        return entityDrops;
+    }
+
+    /**
+     * Gets the hostile drops keyed by directory/event name.
+     */
+    public Map<String, List<CustomDropEntry>> getHostileDrops() {
+        return hostileDrops;
+    }
+
+    /**
+     * Gets the custom messages.
+     */
+    public Map<String, String> getCustomMessages() {
+        return customMessages;
+    }
+
+    /**
+     * Gets every drop entry in this snapshot.
+     */
+    public List<CustomDropEntry> getAllDrops() {
+        return collectAllDrops(entityDrops, hostileDrops);
+    }
+
+    private static List<CustomDropEntry> collectAllDrops(Map<String, List<EntityDropEntry>> entityDrops,
+                                                         Map<String, List<CustomDropEntry>> hostileDrops) {
+        List<CustomDropEntry> allDrops = new ArrayList<>();
+        entityDrops.values().forEach(allDrops::addAll);
+        hostileDrops.values().forEach(allDrops::addAll);
+        return allDrops;
+    }
+
+    /**
+     * Collects the drops of a reload before they are published.
+     * Builders are confined to the loading thread and are not thread-safe.
+     */
+    public static final class Builder {
+        private final Map<String, List<EntityDropEntry>> entityDrops = new HashMap<>();
+        private final Map<String, List<CustomDropEntry>> hostileDrops = new HashMap<>();
+        private final Map<String, String> customMessages = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets entity drops for a specific directory/event.
+         */
+        public Builder setEntityDrops(String dirKey, List<EntityDropEntry> drops) {
+            if (drops != null && !drops.isEmpty()) {
+                entityDrops.put(dirKey, drops);
+            }
+            return this;
+        }
+
+        /**
+         * Sets hostile drops for a specific directory/event.
+         */
+        public Builder setHostileDrops(String dirKey, List<CustomDropEntry> drops) {
+            if (drops != null && !drops.isEmpty()) {
+                hostileDrops.put(dirKey, drops);
+            }
+            return this;
+        }
+
+        /**
+         * Sets custom messages for the configuration.
+         */
+        public Builder setCustomMessages(Map<String, String> messages) {
+            if (messages != null) {
+                customMessages.clear();
+                customMessages.putAll(messages);
+            }
+            return this;
+        }
+
+        /**
+         * Gets every drop entry collected so far, so they can be resolved before publishing.
+         */
+        public List<CustomDropEntry> getAllDrops() {
+            return collectAllDrops(entityDrops, hostileDrops);
+        }
+
+        /**
+         * Copies the collected drops into an immutable snapshot and builds its index.
+         */
+        public LootConfigSnapshot build() {
+            Map<String, List<EntityDropEntry>> entityCopy = new HashMap<>();
+            entityDrops.forEach((key, drops) -> entityCopy.put(key, List.copyOf(drops)));
+            Map<String, List<CustomDropEntry>> hostileCopy = new HashMap<>();
+            hostileDrops.forEach((key, drops) -> hostileCopy.put(key, List.copyOf(drops)));
+
+            return new LootConfigSnapshot(Map.copyOf(entityCopy), Map.copyOf(hostileCopy), Map.copyOf(customMessages));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.poe.entitylootdrops.lootdrops.config;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.util.ItemNamespaces;
+
+/**
+ * Whether a death keeps its vanilla drops, and from which mods drops survive when it does not.
+ * Entity-specific entries always apply, so their part of the decision is made when the plan is built;
+ * only hostile entries that actually change the filter are left to be checked against the killer on each death.
+ */
+public final class VanillaDropPolicy {
+    private final boolean cancelDefaults;
+    private final BitSet allowedNamespaces;         // Namespace indexes from ItemNamespaces
+    private final CustomDropEntry[] conditionalEntries;
+    private final boolean[] conditionalCancels;
+    private final BitSet[] conditionalNamespaces;
+
+    private VanillaDropPolicy(boolean cancelDefaults, BitSet allowedNamespaces, CustomDropEntry[] conditionalEntries,
+                              boolean[] conditionalCancels, BitSet[] conditionalNamespaces) {
+        this.cancelDefaults = cancelDefaults;
+        this.allowedNamespaces = allowedNamespaces;
+        this.conditionalEntries = conditionalEntries;
+        this.conditionalCancels = conditionalCancels;
+        this.conditionalNamespaces = conditionalNamespaces;
+    }
+
+    /**
+     * Builds the policy of one merged drop list of a plan.
+     */
+    static VanillaDropPolicy build(List<ActiveDropPlan.PlannedDrop> drops) {
+        boolean cancelDefaults = false;
+        BitSet allowedNamespaces = new BitSet();
+        List<CustomDropEntry> conditional = new ArrayList<>();
+
+        for (ActiveDropPlan.PlannedDrop planned : drops) {
+            CustomDropEntry drop = planned.getEntry();
+            if (planned.isEntitySpecific()) {
+                cancelDefaults |= !drop.isAllowDefaultDrops();
+                addNamespaces(allowedNamespaces, drop);
+            } else if (!drop.isAllowDefaultDrops() || hasAllowModIDs(drop)) {
+                // Entries that keep all drops and allow no mods cannot change the outcome, whatever their requirements
+                conditional.add(drop);
+            }
+        }
+
+        int size = conditional.size();
+        CustomDropEntry[] conditionalEntries = conditional.toArray(new CustomDropEntry[0]);
+        boolean[] conditionalCancels = new boolean[size];
+        BitSet[] conditionalNamespaces = new BitSet[size];
+        for (int i = 0; i < size; i++) {
+            conditionalCancels[i] = !conditionalEntries[i].isAllowDefaultDrops();
+            conditionalNamespaces[i] = new BitSet();
+            addNamespaces(conditionalNamespaces[i], conditionalEntries[i]);
+        }
+
+        return new VanillaDropPolicy(cancelDefaults, allowedNamespaces, conditionalEntries, conditionalCancels,
+                conditionalNamespaces);
+    }
+
+    private static boolean hasAllowModIDs(CustomDropEntry drop) {
+        return drop.getAllowModIDs() != null && !drop.getAllowModIDs().isEmpty();
+    }
+
+    private static void addNamespaces(BitSet namespaces, CustomDropEntry drop) {
+        if (hasAllowModIDs(drop)) {
+            for (String modId : drop.getAllowModIDs()) {
+                namespaces.set(ItemNamespaces.indexOfNamespace(modId));
+            }
+        }
+    }
+
+    /**
+     * Checks if every death keeps all of its drops, without looking at the killer.
+     */
+    public boolean isKeepAll() {
+        return !cancelDefaults && conditionalEntries.length == 0;
+    }
+
+    /**
+     * Checks if the entity-specific entries alone cancel the vanilla drops.
+     */
+    public boolean cancelsDefaults() { return cancelDefaults; }
+
+    /**
+     * Gets the namespaces whose drops the entity-specific entries keep when the vanilla drops are cancelled.
+     */
+    public BitSet getAllowedNamespaces() { return allowedNamespaces; }
+
+    /**
+     * Gets the number of hostile entries that change the filter when their requirements are met.
+     */
+    public int getConditionalCount() { return conditionalEntries.length; }
+
+    public CustomDropEntry getConditionalEntry(int index) { return conditionalEntries[index]; }
+    public boolean isConditionalCancel(int index) { return conditionalCancels[index]; }
+    public BitSet getConditionalNamespaces(int index) { return conditionalNamespaces[index]; }
+}
@@ -0,0 +1,103 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import net.minecraft.advancements.Advancement;
+import net.minecraft.advancements.AdvancementProgress;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.poe.entitylootdrops.mixin.PlayerAdvancementsAccessor;
+
+/**
+ * Caches which of the advancements required by drop entries each online player has completed.
+ * Every advancement referenced by a drop gets a stable bit when the configuration is resolved, and
+ * a player's bits are filled in on first use and then kept up to date from advancement events,
+ * so an advancement requirement is a single bit test.
+ * Player state is only used on the server thread.
+ */
+public final class AdvancementCache {
+    // Advancement -> bit, never reassigned so resolved drops stay valid across reloads
+    private static final Map<ResourceLocation, Integer> INDEX = new ConcurrentHashMap<>();
+    private static final List<ResourceLocation> ADVANCEMENTS = new CopyOnWriteArrayList<>();
+
+    private static final Map<UUID, PlayerState> PLAYERS = new HashMap<>();
+
+    /**
+     * The completion bits of one player. A bit of done is only meaningful once the same bit of known is set.
+     */
+    private static final class PlayerState {
+        private final BitSet known = new BitSet();
+        private final BitSet done = new BitSet();
+    }
+
+    private AdvancementCache() {
+    }
+
+    /**
+     * Gets the bit of an advancement, assigning the next free one the first time it is referenced.
+     */
+    public static synchronized int indexOf(ResourceLocation advancementId) {
+        Integer index = INDEX.get(advancementId);
+        if (index == null) {
+            index = ADVANCEMENTS.size();
+            ADVANCEMENTS.add(advancementId);
+            INDEX.put(advancementId, index);
+        }
+        return index;
+    }
+
+    /**
+     * Checks if a player has completed the advancement with the given bit.
+     * The first check of each advancement per player reads the player's progress; later checks only test the bit.
+     * The progress is only looked up, never started, so checking a drop does not add entries to the player's advancements.
+     */
+    public static boolean isDone(ServerPlayer player, int index) {
+        PlayerState state = PLAYERS.computeIfAbsent(player.getUUID(), k -> new PlayerState());
+        if (!state.known.get(index)) {
+            Advancement advancement = player.getServer().getAdvancements().getAdvancement(ADVANCEMENTS.get(index));
+            AdvancementProgress progress = advancement != null
+                    ? ((PlayerAdvancementsAccessor) player.getAdvancements()).getProgress().get(advancement)
+                    : null;
+            // No progress yet means the player has not made any, so it cannot be done
+            state.done.set(index, progress != null && progress.isDone());
+            state.known.set(index);
+        }
+        return state.done.get(index);
+    }
+
+    /**
+     * Records a change of an advancement's completion, if drops refer to it and the player's state is cached.
+     */
+    public static void update(ServerPlayer player, Advancement advancement, boolean done) {
+        Integer index = INDEX.get(advancement.getId());
+        PlayerState state = PLAYERS.get(player.getUUID());
+        if (index == null || state == null) {
+            return;
+        }
+        state.done.set(index, done);
+        state.known.set(index);
+    }
+
+    /**
+     * Drops the cached state of a player, for example when they log out.
+     */
+    public static void forget(UUID player) {
+        PLAYERS.remove(player);
+    }
+
+    /**
+     * Drops the cached state of all players, so it is read again after advancements were reloaded.
+     */
+    public static void invalidate() {
+        PLAYERS.clear();
+    }
+
+    public static int getTrackedCount() { return ADVANCEMENTS.size(); }
+    public static int getPlayerCount() { return PLAYERS.size(); }
+}
@@ -0,0 +1,169 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.poe.entitylootdrops.lootdrops.LootConfig;
+import net.poe.entitylootdrops.lootdrops.config.ActiveDropPlan;
+import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedGroup;
+import net.poe.entitylootdrops.util.BinomialSampler;
+
+/**
+ * Evaluates the custom drops of many identical kills at once, for mob stackers and grinders.
+ * Instead of rolling every entry once per kill, the number of successful rolls is drawn from a
+ * binomial distribution and the amounts are summed in closed form, so the cost depends only on
+ * the number of entries. Requirements are checked once, since every kill shares the same killer.
+ */
+public final class BatchDropEvaluator {
+    private BatchDropEvaluator() {
+    }
+
+    /**
+     * Evaluates the custom drops of count kills of an entity type.
+     * Commands and extra vanilla drops are not applied; only the dropped items are returned,
+     * merged into as few stacks as possible. Whether the type counts as hostile is decided by its
+     * mob category, since there is no entity instance to check.
+     * Must be called on the server thread, since it reads player state and per-player caches.
+     * In deterministic mode the rolls are seeded from the world seed, the entity type and the given seed,
+     * so a batch replays the same way whenever it is evaluated with the same seed.
+     *
+     * @param type the type of the killed entities
+     * @param count the number of kills
+     * @param killer the killing player, or null if no player was involved
+     * @param level the level the kills happened in
+     * @param seed distinguishes batches of the same type, in the role the victim UUID has for a single death
+     * @return the merged item stacks, never null
+     * @throws IllegalStateException if called off the server thread
+     */
+    public static List<ItemStack> evaluateDrops(EntityType<?> type, int count, Player killer, ServerLevel level, long seed) {
+        if (level != null && !level.getServer().isSameThread()) {
+            throw new IllegalStateException("Batch drops must be evaluated on the server thread");
+        }
+
+        List<ItemStack> result = new ArrayList<>();
+        ResourceLocation typeId = ForgeRegistries.ENTITY_TYPES.getKey(type);
+        if (typeId == null || count <= 0 || level == null) {
+            return result;
+        }
+
+        boolean isHostile = type.getCategory() == MobCategory.MONSTER;
+        boolean playerKilled = killer != null;
+        List<ActiveDropPlan.PlannedDrop> drops = LootConfig.getActivePlan().getDrops(type, isHostile);
+
+        // Stands in for the victim UUID that seeds the rolls of a single death
+        UUID batchId = new UUID(typeId.hashCode(), seed);
+        DropContext context = DropContext.acquire(null, killer, playerKilled);
+        try {
+            for (ActiveDropPlan.PlannedDrop planned : drops) {
+                CustomDropEntry drop = planned.getEntry();
+                if ((!drop.hasItem() && !drop.hasGroup()) || !LootEventHandler.checkDropRequirements(drop, context)) {
+                    continue;
+                }
+
+                float dropChance = drop.getDropChance();
+                if (LootConfig.isDropChanceEventActive() && playerKilled) {
+                    dropChance *= 2.0f;
+                }
+
+                RandomGenerator random = DropRng.forEntry(level, batchId, drop.getOrdinal(), DropRng.DROP_STREAM);
+                int successes = BinomialSampler.binomial(random, count, dropChance / 100.0);
+                if (drop.hasGroup()) {
+                    evaluateGroup(result, planned, successes, killer, random);
+                    continue;
+                }
+
+                long amount = BinomialSampler.uniformSum(random, successes, drop.getMinAmount(), drop.getMaxAmount());
+                if (amount <= 0) {
+                    continue;
+                }
+
+                ItemStack stack = LootEventHandler.createItemStack(drop, 1);
+                if (stack != null) {
+                    addMerged(result, stack, amount);
+                    LootEventHandler.recordDropCountEnabledItems(killer, planned.getEventName(), drop,
+                            drop.getItemId(), (int) Math.min(Integer.MAX_VALUE, amount));
+                }
+            }
+        } finally {
+            context.release();
+        }
+        return result;
+    }
+
+    /**
+     * Distributes the picks of a loot group over its items.
+     * The per-item pick counts follow a multinomial distribution, drawn as a chain of conditional binomials
+     * so the cost depends on the group size rather than on the number of picks.
+     */
+    private static void evaluateGroup(List<ItemStack> result, ActiveDropPlan.PlannedDrop planned, int successes,
+                                      Player killer, RandomGenerator random) {
+        CustomDropEntry drop = planned.getEntry();
+        ResolvedGroup group = LootEventHandler.getGroup(drop);
+        if (group == null || successes <= 0) {
+            return;
+        }
+
+        // The last item that can be picked takes all remaining picks, so rounding never loses any
+        int last = group.size() - 1;
+        while (last > 0 && group.getProbability(last) <= 0.0) {
+            last--;
+        }
+
+        int remaining = (int) Math.min(Integer.MAX_VALUE, (long) successes * group.getRolls());
+        double remainingProbability = 1.0;
+        for (int i = 0; i <= last && remaining > 0; i++) {
+            double probability = group.getProbability(i);
+            int picks = i == last || remainingProbability <= probability
+                    ? remaining
+                    : BinomialSampler.binomial(random, remaining, probability / remainingProbability);
+            remaining -= picks;
+            remainingProbability -= probability;
+
+            long amount = BinomialSampler.uniformSum(random, picks, group.getMinAmount(i), group.getMaxAmount(i));
+            if (amount <= 0) {
+                continue;
+            }
+
+            ItemStack stack = group.createStack(i, 1);
+            if (stack != null) {
+                addMerged(result, stack, amount);
+                LootEventHandler.recordDropCountEnabledItems(killer, planned.getEventName(), drop,
+                        group.getItemId(i), (int) Math.min(Integer.MAX_VALUE, amount));
+            }
+        }
+    }
+
+    /**
+     * Adds an amount of an item to the result, topping up compatible stacks before starting new ones.
+     */
+    private static void addMerged(List<ItemStack> result, ItemStack template, long amount) {
+        for (ItemStack existing : result) {
+            if (amount <= 0) {
+                return;
+            }
+            int room = existing.getMaxStackSize() - existing.getCount();
+            if (room > 0 && ItemStack.isSameItemSameTags(existing, template)) {
+                int moved = (int) Math.min(room, amount);
+                existing.grow(moved);
+                amount -= moved;
+            }
+        }
+
+        int maxSize = template.getMaxStackSize();
+        while (amount > 0) {
+            int size = (int) Math.min(maxSize, amount);
+            result.add(template.copyWithCount(size));
+            amount -= size;
+        }
+    }
+}
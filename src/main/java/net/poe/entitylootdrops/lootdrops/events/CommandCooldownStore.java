@@ -0,0 +1,288 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Tracks command cooldowns per player in game ticks.
+ * Each cooldown is stored under one primitive key made of a player index and a command index, so
+ * checks allocate nothing. An expiry heap removes cooldowns once they run out, and a player's index
+ * is recycled when their last cooldown expires, so the store only holds cooldowns that are still running.
+ * Only used on the server thread.
+ */
+public final class CommandCooldownStore {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String CONFIG_DIR = "config/EntityLootDrops";
+    private static final String COOLDOWN_FILE = "Command_Cooldowns.json";
+    private static final int TICKS_PER_SECOND = 20;
+    private static final long NO_EXPIRY = Long.MIN_VALUE;
+
+    // Key -> tick at which the cooldown ends
+    private static final Long2LongOpenHashMap EXPIRY = new Long2LongOpenHashMap();
+
+    // Players with running cooldowns, indexes are recycled
+    private static final Object2IntOpenHashMap<UUID> PLAYER_INDEX = new Object2IntOpenHashMap<>();
+    private static final ObjectArrayList<UUID> PLAYERS = new ObjectArrayList<>();
+    private static final Int2IntOpenHashMap PLAYER_COOLDOWNS = new Int2IntOpenHashMap();
+    private static final IntArrayList FREE_PLAYER_INDEXES = new IntArrayList();
+
+    // Commands get a stable index on first use; their number is bounded by the configuration
+    private static final Object2IntOpenHashMap<String> COMMAND_INDEX = new Object2IntOpenHashMap<>();
+    private static final ObjectArrayList<String> COMMANDS = new ObjectArrayList<>();
+
+    // Binary min-heap of (expiry tick, key); entries replaced by a later set are skipped when popped
+    private static long[] heapExpiry = new long[64];
+    private static long[] heapKey = new long[64];
+    private static int heapSize;
+
+    static {
+        EXPIRY.defaultReturnValue(NO_EXPIRY);
+        PLAYER_INDEX.defaultReturnValue(-1);
+        COMMAND_INDEX.defaultReturnValue(-1);
+    }
+
+    private CommandCooldownStore() {
+    }
+
+    /**
+     * Checks if a command is on cooldown for a player.
+     *
+     * @param now the current server tick
+     */
+    public static boolean isOnCooldown(UUID player, String command, long now) {
+        int playerIndex = PLAYER_INDEX.getInt(player);
+        int commandIndex = COMMAND_INDEX.getInt(command);
+        if (playerIndex < 0 || commandIndex < 0) {
+            return false;
+        }
+        return EXPIRY.get(key(playerIndex, commandIndex)) > now;
+    }
+
+    /**
+     * Starts the cooldown of a command for a player.
+     *
+     * @param now the current server tick
+     */
+    public static void setCooldown(UUID player, String command, int cooldownSeconds, long now) {
+        if (cooldownSeconds <= 0) {
+            return;
+        }
+        setCooldownTicks(player, command, now + (long) cooldownSeconds * TICKS_PER_SECOND);
+    }
+
+    private static void setCooldownTicks(UUID player, String command, long expiry) {
+        int playerIndex = playerIndex(player);
+        long key = key(playerIndex, commandIndex(command));
+        if (EXPIRY.put(key, expiry) == NO_EXPIRY) {
+            PLAYER_COOLDOWNS.addTo(playerIndex, 1);
+        }
+        push(expiry, key);
+    }
+
+    /**
+     * Removes every cooldown that has run out by the given tick.
+     */
+    public static void evictExpired(long now) {
+        while (heapSize > 0 && heapExpiry[0] <= now) {
+            long expiry = heapExpiry[0];
+            long key = heapKey[0];
+            pop();
+
+            // Skip entries whose cooldown was restarted after they were pushed
+            if (EXPIRY.get(key) != expiry) {
+                continue;
+            }
+            EXPIRY.remove(key);
+            releasePlayer((int) (key >>> 32));
+        }
+    }
+
+    /**
+     * Removes all cooldowns.
+     */
+    public static void clear() {
+        EXPIRY.clear();
+        PLAYER_INDEX.clear();
+        PLAYERS.clear();
+        PLAYER_COOLDOWNS.clear();
+        FREE_PLAYER_INDEXES.clear();
+        heapSize = 0;
+    }
+
+    public static int size() { return EXPIRY.size(); }
+    public static int getPlayerCount() { return PLAYER_INDEX.size(); }
+
+    private static long key(int playerIndex, int commandIndex) {
+        return ((long) playerIndex << 32) | (commandIndex & 0xFFFFFFFFL);
+    }
+
+    private static int playerIndex(UUID player) {
+        int index = PLAYER_INDEX.getInt(player);
+        if (index >= 0) {
+            return index;
+        }
+        if (!FREE_PLAYER_INDEXES.isEmpty()) {
+            index = FREE_PLAYER_INDEXES.popInt();
+            PLAYERS.set(index, player);
+        } else {
+            index = PLAYERS.size();
+            PLAYERS.add(player);
+        }
+        PLAYER_INDEX.put(player, index);
+        return index;
+    }
+
+    private static void releasePlayer(int playerIndex) {
+        if (PLAYER_COOLDOWNS.addTo(playerIndex, -1) > 1) {
+            return;
+        }
+        PLAYER_COOLDOWNS.remove(playerIndex);
+        PLAYER_INDEX.removeInt(PLAYERS.get(playerIndex));
+        PLAYERS.set(playerIndex, null);
+        FREE_PLAYER_INDEXES.add(playerIndex);
+    }
+
+    private static int commandIndex(String command) {
+        int index = COMMAND_INDEX.getInt(command);
+        if (index < 0) {
+            index = COMMANDS.size();
+            COMMANDS.add(command);
+            COMMAND_INDEX.put(command, index);
+        }
+        return index;
+    }
+
+    private static void push(long expiry, long key) {
+        if (heapSize == heapExpiry.length) {
+            heapExpiry = Arrays.copyOf(heapExpiry, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapExpiry[parent] <= expiry) {
+                break;
+            }
+            heapExpiry[i] = heapExpiry[parent];
+            heapKey[i] = heapKey[parent];
+            i = parent;
+        }
+        heapExpiry[i] = expiry;
+        heapKey[i] = key;
+    }
+
+    private static void pop() {
+        heapSize--;
+        if (heapSize == 0) {
+            return;
+        }
+        long expiry = heapExpiry[heapSize];
+        long key = heapKey[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapExpiry[child + 1] < heapExpiry[child]) {
+                child++;
+            }
+            if (expiry <= heapExpiry[child]) {
+                break;
+            }
+            heapExpiry[i] = heapExpiry[child];
+            heapKey[i] = heapKey[child];
+            i = child;
+        }
+        heapExpiry[i] = expiry;
+        heapKey[i] = key;
+    }
+
+    /**
+     * A running cooldown as written to disk. Ticks are stored as remaining time since the
+     * server tick counter starts over on every restart.
+     */
+    private static class SavedCooldown {
+        private String player;
+        private String command;
+        private long remainingTicks;
+    }
+
+    /**
+     * Writes the running cooldowns to disk.
+     *
+     * @param now the current server tick
+     */
+    public static void save(long now) {
+        evictExpired(now);
+        List<SavedCooldown> saved = new ArrayList<>();
+        for (Long2LongMap.Entry entry : EXPIRY.long2LongEntrySet()) {
+            long key = entry.getLongKey();
+            SavedCooldown cooldown = new SavedCooldown();
+            cooldown.player = PLAYERS.get((int) (key >>> 32)).toString();
+            cooldown.command = COMMANDS.get((int) key);
+            cooldown.remainingTicks = entry.getLongValue() - now;
+            saved.add(cooldown);
+        }
+
+        Path file = Paths.get(CONFIG_DIR, COOLDOWN_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            Files.writeString(file, gson.toJson(saved));
+            LOGGER.debug("Saved {} command cooldowns", saved.size());
+        } catch (IOException e) {
+            LOGGER.error("Failed to save command cooldowns", e);
+        }
+    }
+
+    /**
+     * Replaces the running cooldowns with the ones saved on disk.
+     *
+     * @param now the current server tick
+     */
+    public static void load(long now) {
+        clear();
+        Path file = Paths.get(CONFIG_DIR, COOLDOWN_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            List<SavedCooldown> saved = new Gson().fromJson(Files.readString(file),
+                    new TypeToken<List<SavedCooldown>>() {}.getType());
+            if (saved == null) {
+                return;
+            }
+            for (SavedCooldown cooldown : saved) {
+                if (cooldown == null || cooldown.player == null || cooldown.command == null || cooldown.remainingTicks <= 0) {
+                    continue;
+                }
+                setCooldownTicks(UUID.fromString(cooldown.player), cooldown.command, now + cooldown.remainingTicks);
+            }
+            LOGGER.info("Loaded {} command cooldowns", size());
+        } catch (Exception e) {
+            LOGGER.error("Failed to load command cooldowns", e);
+        }
+    }
+}
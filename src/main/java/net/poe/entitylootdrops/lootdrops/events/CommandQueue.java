@@ -0,0 +1,134 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayDeque;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+import net.poe.entitylootdrops.lootdrops.config.EventConfig;
+
+/**
+ * Defers drop commands to the end of the server tick so a kill that triggers many commands
+ * does not stall the death event. Each tick runs commands until the configured count or time budget
+ * is used up and carries the rest to later ticks. Commands are rendered and their source is built when
+ * they are queued, so placeholders and positions keep the values of the kill.
+ * Only used on the server thread.
+ */
+public final class CommandQueue {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private static final ArrayDeque<PendingCommand> QUEUE = new ArrayDeque<>();
+
+    // Statistics for /lootdrops commandqueue
+    private static int peakDepth;
+    private static long executedTotal;
+    private static long carriedTicks;
+    private static long totalLatencyNanos;
+    private static long maxLatencyNanos;
+
+    private CommandQueue() {
+    }
+
+    private static final class PendingCommand {
+        private final String command;
+        private final boolean cacheable;
+        private final CommandSourceStack source;
+        private final long queuedAt;
+
+        private PendingCommand(String command, boolean cacheable, CommandSourceStack source, long queuedAt) {
+            this.command = command;
+            this.cacheable = cacheable;
+            this.source = source;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    /**
+     * Queues a rendered command to run at the end of the current tick.
+     *
+     * @param cacheable whether the command came from a cacheable template
+     */
+    public static void enqueue(String command, boolean cacheable, CommandSourceStack source) {
+        QUEUE.add(new PendingCommand(command, cacheable, source, System.nanoTime()));
+        peakDepth = Math.max(peakDepth, QUEUE.size());
+    }
+
+    /**
+     * Runs queued commands within the per-tick budget. At least one command runs every tick.
+     */
+    public static void drain(MinecraftServer server) {
+        if (QUEUE.isEmpty()) {
+            return;
+        }
+
+        int maxCommands = EventConfig.getMaxCommandsPerTick();
+        long budgetNanos = (long) (EventConfig.getCommandTickBudgetMs() * 1_000_000L);
+        long start = System.nanoTime();
+        int executed = 0;
+
+        while (!QUEUE.isEmpty()) {
+            if (executed > 0) {
+                if (maxCommands > 0 && executed >= maxCommands) {
+                    break;
+                }
+                if (budgetNanos > 0 && System.nanoTime() - start >= budgetNanos) {
+                    break;
+                }
+            }
+            run(server, QUEUE.poll());
+            executed++;
+        }
+
+        if (!QUEUE.isEmpty()) {
+            carriedTicks++;
+        }
+    }
+
+    /**
+     * Runs every queued command regardless of the budget, used when the server stops.
+     */
+    public static void flush(MinecraftServer server) {
+        while (!QUEUE.isEmpty()) {
+            run(server, QUEUE.poll());
+        }
+    }
+
+    private static void run(MinecraftServer server, PendingCommand pending) {
+        long latency = System.nanoTime() - pending.queuedAt;
+        totalLatencyNanos += latency;
+        maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        executedTotal++;
+
+        try {
+            CommandRunner.run(server, pending.command, pending.cacheable, pending.source);
+        } catch (Exception e) {
+            LOGGER.error("Error executing command '{}': {}", pending.command, e.getMessage());
+        }
+    }
+
+    /**
+     * Resets the statistics, keeping queued commands.
+     */
+    public static void resetStats() {
+        peakDepth = QUEUE.size();
+        executedTotal = 0;
+        carriedTicks = 0;
+        totalLatencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+
+    public static int getDepth() { return QUEUE.size(); }
+    public static int getPeakDepth() { return peakDepth; }
+    public static long getExecutedTotal() { return executedTotal; }
+    public static long getCarriedTicks() { return carriedTicks; }
+    public static long getMaxLatencyNanos() { return maxLatencyNanos; }
+
+    /**
+     * Gets the average time commands waited in the queue.
+     */
+    public static double getAverageLatencyNanos() {
+        return executedTotal > 0 ? (double) totalLatencyNanos / executedTotal : 0.0;
+    }
+}
@@ -0,0 +1,101 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.ParseResults;
+import com.mojang.brigadier.context.CommandContextBuilder;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.poe.entitylootdrops.lootdrops.model.CommandTemplate;
+
+/**
+ * Runs drop commands from their compiled templates.
+ * Rendered commands of cacheable templates are parsed once and the parse is reused with the source of
+ * each new kill, so repeated reward commands skip Brigadier parsing. Only used on the server thread.
+ */
+public final class CommandRunner {
+    private static final int CACHE_SIZE = 256;
+
+    // Successful parses keyed by rendered command, least recently used first
+    private static final Map<String, ParseResults<CommandSourceStack>> PARSE_CACHE =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ParseResults<CommandSourceStack>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    // Parses belong to the dispatcher that made them, which is replaced when datapacks reload
+    private static CommandDispatcher<CommandSourceStack> cachedDispatcher;
+    private static long cacheHits;
+    private static long cacheMisses;
+
+    private CommandRunner() {
+    }
+
+    /**
+     * Renders and runs a command template as the given source.
+     */
+    public static void execute(MinecraftServer server, CommandTemplate template, CommandSourceStack source,
+                               ServerPlayer player, LivingEntity entity) {
+        run(server, template.render(player, entity), template.isCacheable(), source);
+    }
+
+    /**
+     * Runs an already rendered command as the given source.
+     *
+     * @param cacheable whether the command came from a cacheable template
+     */
+    public static void run(MinecraftServer server, String command, boolean cacheable, CommandSourceStack source) {
+        if (!cacheable) {
+            server.getCommands().performPrefixedCommand(source, command);
+            return;
+        }
+        server.getCommands().performCommand(parse(server, command, source), command);
+    }
+
+    /**
+     * Gets the parse of a rendered command bound to the source, from the cache when possible.
+     */
+    private static ParseResults<CommandSourceStack> parse(MinecraftServer server, String command, CommandSourceStack source) {
+        CommandDispatcher<CommandSourceStack> dispatcher = server.getCommands().getDispatcher();
+        if (dispatcher != cachedDispatcher) {
+            PARSE_CACHE.clear();
+            cachedDispatcher = dispatcher;
+        }
+
+        ParseResults<CommandSourceStack> cached = PARSE_CACHE.get(command);
+        if (cached != null) {
+            cacheHits++;
+            return new ParseResults<>(cached.getContext().copy().withSource(source), cached.getReader(), cached.getExceptions());
+        }
+
+        cacheMisses++;
+        ParseResults<CommandSourceStack> parsed = dispatcher.parse(command, source);
+        // Failed parses are not cached so their errors are reported on every run
+        if (!parsed.getReader().canRead() && parsed.getExceptions().isEmpty() && isExecutable(parsed.getContext())) {
+            PARSE_CACHE.put(command, parsed);
+            return new ParseResults<>(parsed.getContext().copy(), parsed.getReader(), parsed.getExceptions());
+        }
+        return parsed;
+    }
+
+    /**
+     * Checks that a parse reached a command, following redirects such as execute ... run.
+     */
+    private static boolean isExecutable(CommandContextBuilder<CommandSourceStack> context) {
+        while (context.getChild() != null) {
+            context = context.getChild();
+        }
+        return context.getCommand() != null;
+    }
+
+    public static int getCacheSize() { return PARSE_CACHE.size(); }
+    public static long getCacheHits() { return cacheHits; }
+    public static long getCacheMisses() { return cacheMisses; }
+}
@@ -0,0 +1,166 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+
+import net.minecraft.core.Holder;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+/**
+ * The facts about a single death that drop requirements are checked against.
+ * Each fact is looked up the first time an entry needs it and then shared by every entry and phase.
+ * Contexts are pooled per thread; a stack is used because commands run by a drop can kill other mobs
+ * and re-enter the death handler before the outer death is finished.
+ */
+public final class DropContext {
+    private static final ThreadLocal<ArrayDeque<DropContext>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final EquipmentSlot[] EQUIPMENT_SLOTS = EquipmentSlot.values();
+
+    private LivingEntity victim;
+    private Player killer;
+    private boolean playerKilled;
+    private boolean serverThread;   // Whether the context was acquired on the server thread
+
+    // Memoized killer facts, valid once the matching flag is set
+    private boolean biomeLoaded;
+    private Holder<Biome> biome;
+    private boolean timeLoaded;
+    private long dayTime;
+    private boolean weatherLoaded;
+    private boolean raining;
+    private boolean thundering;
+    private boolean equipmentLoaded;
+    private final int[] equipment = new int[EQUIPMENT_SLOTS.length];
+
+    // Custom drop entries checked and passed on this death, for /lootdrops stats
+    private int entriesEvaluated;
+    private int entriesMatched;
+
+    // Collects the stacks this death adds until they are merged into the event drops
+    private final DropEmitter emitter = new DropEmitter();
+
+    private DropContext() {
+    }
+
+    /**
+     * Takes a context from the pool of the current thread and binds it to a death.
+     * Every acquired context must be handed back with {@link #release()}.
+     */
+    public static DropContext acquire(LivingEntity victim, Player killer, boolean playerKilled) {
+        DropContext context = POOL.get().poll();
+        if (context == null) {
+            context = new DropContext();
+        }
+        context.victim = victim;
+        context.killer = killer;
+        context.playerKilled = playerKilled;
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        context.serverThread = server != null && server.isSameThread();
+        return context;
+    }
+
+    /**
+     * Clears this context and returns it to the pool of the current thread.
+     */
+    public void release() {
+        victim = null;
+        killer = null;
+        playerKilled = false;
+        serverThread = false;
+        biomeLoaded = false;
+        biome = null;
+        timeLoaded = false;
+        weatherLoaded = false;
+        equipmentLoaded = false;
+        entriesEvaluated = 0;
+        entriesMatched = 0;
+        emitter.clear();
+        POOL.get().push(this);
+    }
+
+    public LivingEntity getVictim() { return victim; }
+    public Player getKiller() { return killer; }
+    public boolean isPlayerKilled() { return playerKilled; }
+    public boolean isServerThread() { return serverThread; }
+    public DropEmitter getEmitter() { return emitter; }
+    public int getEntriesEvaluated() { return entriesEvaluated; }
+    public int getEntriesMatched() { return entriesMatched; }
+
+    void countEvaluated() { entriesEvaluated++; }
+    void countMatched() { entriesMatched++; }
+
+    /**
+     * Gets the biome the killer is standing in.
+     */
+    public Holder<Biome> getKillerBiome() {
+        if (!biomeLoaded) {
+            biome = killer.level().getBiome(killer.blockPosition());
+            biomeLoaded = true;
+        }
+        return biome;
+    }
+
+    /**
+     * Gets the time of day in the killer's level, in ticks within [0, 24000).
+     */
+    public long getDayTime() {
+        if (!timeLoaded) {
+            dayTime = killer.level().getDayTime() % 24000;
+            timeLoaded = true;
+        }
+        return dayTime;
+    }
+
+    public boolean isRaining() {
+        loadWeather();
+        return raining;
+    }
+
+    public boolean isThundering() {
+        loadWeather();
+        return thundering;
+    }
+
+    private void loadWeather() {
+        if (!weatherLoaded) {
+            raining = killer.level().isRaining();
+            thundering = killer.level().isThundering();
+            weatherLoaded = true;
+        }
+    }
+
+    /**
+     * Gets the dimension the killer is in.
+     */
+    public ResourceKey<Level> getKillerDimension() {
+        return killer.level().dimension();
+    }
+
+    /**
+     * Checks if the killer holds or wears any of the given items in any equipment slot.
+     *
+     * @param items the accepted items, by item registry ID
+     */
+    public boolean hasEquipment(BitSet items) {
+        if (!equipmentLoaded) {
+            for (int i = 0; i < EQUIPMENT_SLOTS.length; i++) {
+                equipment[i] = Item.getId(killer.getItemBySlot(EQUIPMENT_SLOTS[i]).getItem());
+            }
+            equipmentLoaded = true;
+        }
+        for (int equipped : equipment) {
+            if (items.get(equipped)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Collects the stacks a death adds and turns them into as few item entities as possible.
+ * Pending stacks are first merged into compatible drops already in the event (same item and tag),
+ * then into each other, never exceeding the max stack size. Only the remainder becomes new entities.
+ * Owned by a {@link DropContext}, so it is reused rather than allocated per death.
+ */
+public final class DropEmitter {
+    // Item entities avoided by merging, reported per server tick; only touched on the server thread
+    private static int savedThisTick;
+    private static int savedLastTick;
+    private static int savedPeakTick;
+    private static long savedTotal;
+
+    private final List<ItemStack> vanillaStacks = new ArrayList<>();
+    private final List<ItemStack> customStacks = new ArrayList<>();
+    private int requestedEntities;
+    private int queuedItems;
+
+    DropEmitter() {
+    }
+
+    /**
+     * Queues additional copies of a vanilla drop. The count may exceed the max stack size.
+     */
+    public void addVanilla(ItemStack original, int copies) {
+        if (original.isEmpty() || copies <= 0) {
+            return;
+        }
+        vanillaStacks.add(original.copyWithCount(original.getCount() * copies));
+        requestedEntities += copies;
+        queuedItems += original.getCount() * copies;
+    }
+
+    /**
+     * Queues extra items of a vanilla drop. The count may exceed the max stack size.
+     */
+    public void addVanillaItems(ItemStack original, int count) {
+        if (original.isEmpty() || count <= 0) {
+            return;
+        }
+        vanillaStacks.add(original.copyWithCount(count));
+        requestedEntities += (count + original.getMaxStackSize() - 1) / original.getMaxStackSize();
+        queuedItems += count;
+    }
+
+    /**
+     * Queues a custom drop.
+     */
+    public void addCustom(ItemStack stack) {
+        if (stack.isEmpty()) {
+            return;
+        }
+        customStacks.add(stack);
+        requestedEntities++;
+        queuedItems += stack.getCount();
+    }
+
+    /**
+     * Gets the vanilla copies queued so far, which later duplication stages treat like regular drops.
+     */
+    public List<ItemStack> getPendingVanilla() {
+        return vanillaStacks;
+    }
+
+    /**
+     * Gets the total number of items queued so far.
+     */
+    public int getQueuedItems() {
+        return queuedItems;
+    }
+
+    /**
+     * Merges all queued stacks into the drops of the event.
+     *
+     * @return the number of item entities that were not created thanks to merging
+     */
+    public int emit(LivingEntity victim, Collection<ItemEntity> drops) {
+        if (requestedEntities == 0) {
+            return 0;
+        }
+
+        int before = drops.size();
+        for (ItemStack stack : vanillaStacks) {
+            merge(victim, drops, stack);
+        }
+        for (ItemStack stack : customStacks) {
+            merge(victim, drops, stack);
+        }
+
+        int saved = Math.max(0, requestedEntities - (drops.size() - before));
+        savedThisTick += saved;
+        savedTotal += saved;
+        return saved;
+    }
+
+    private static void merge(LivingEntity victim, Collection<ItemEntity> drops, ItemStack stack) {
+        int remaining = stack.getCount();
+        int maxSize = stack.getMaxStackSize();
+
+        // Top up compatible drops that still have room
+        for (ItemEntity existing : drops) {
+            if (remaining <= 0) {
+                return;
+            }
+            ItemStack existingStack = existing.getItem();
+            int room = existingStack.getMaxStackSize() - existingStack.getCount();
+            if (room > 0 && ItemStack.isSameItemSameTags(existingStack, stack)) {
+                int moved = Math.min(room, remaining);
+                existing.setItem(existingStack.copyWithCount(existingStack.getCount() + moved));
+                remaining -= moved;
+            }
+        }
+
+        // Spawn the rest as full stacks, the same way Entity#spawnAtLocation does
+        while (remaining > 0) {
+            int size = Math.min(maxSize, remaining);
+            ItemEntity entity = new ItemEntity(victim.level(), victim.getX(), victim.getY(), victim.getZ(),
+                    stack.copyWithCount(size));
+            entity.setDefaultPickUpDelay();
+            drops.add(entity);
+            remaining -= size;
+        }
+    }
+
+    /**
+     * Clears all queued stacks so the emitter can be reused.
+     */
+    void clear() {
+        vanillaStacks.clear();
+        customStacks.clear();
+        requestedEntities = 0;
+        queuedItems = 0;
+    }
+
+    /**
+     * Closes the statistics of the current server tick.
+     */
+    public static void rollOverTick() {
+        savedLastTick = savedThisTick;
+        savedPeakTick = Math.max(savedPeakTick, savedThisTick);
+        savedThisTick = 0;
+    }
+
+    public static int getSavedLastTick() { return savedLastTick; }
+    public static int getSavedPeakTick() { return savedPeakTick; }
+    public static long getSavedTotal() { return savedTotal; }
+}
@@ -0,0 +1,104 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Supplies the random generators used for all drop rolls.
+ * By default every thread gets its own stream split from one root generator, so rolls never contend.
+ * In deterministic mode each entry of each death gets a stream seeded from the world seed, the entity UUID
+ * and the entry's ordinal, so a reported kill can be replayed and produces the same rolls every time.
+ */
+public final class DropRng {
+    // Separates the rolls of the extra vanilla drop stage from the main drop rolls of the same entry
+    public static final long DROP_STREAM = 0L;
+    public static final long EXTRA_STREAM = 1L;
+
+    private static final SplittableRandom ROOT = new SplittableRandom();
+    private static final ThreadLocal<SplittableRandom> STREAMS = ThreadLocal.withInitial(DropRng::splitRoot);
+
+    /**
+     * Produces the generator for the rolls of one entry on one death.
+     */
+    public interface Provider {
+        RandomGenerator forEntry(ServerLevel level, UUID entityId, long ordinal, long stream);
+    }
+
+    /**
+     * Independent per-thread streams, the default.
+     */
+    public static final Provider THREAD_LOCAL = (level, entityId, ordinal, stream) -> STREAMS.get();
+
+    /**
+     * Reproducible streams derived from the world seed, the entity UUID and the entry ordinal.
+     */
+    public static final Provider DETERMINISTIC = (level, entityId, ordinal, stream) -> {
+        long seed = level != null ? level.getSeed() : 0L;
+        if (entityId != null) {
+            seed = mix(seed ^ mix(entityId.getMostSignificantBits()));
+            seed = mix(seed ^ mix(entityId.getLeastSignificantBits()));
+        }
+        seed = mix(seed ^ mix(ordinal));
+        return new SplittableRandom(mix(seed ^ stream));
+    };
+
+    private static volatile Provider provider = THREAD_LOCAL;
+
+    private DropRng() {
+    }
+
+    private static SplittableRandom splitRoot() {
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    /**
+     * Gets the generator for the rolls of a drop entry.
+     *
+     * @param level the level of the death, used for the world seed
+     * @param entityId the UUID of the killed entity, may be null if there is none
+     * @param ordinal the ordinal of the entry, derived from its file and position in it
+     * @param stream {@link #DROP_STREAM} or {@link #EXTRA_STREAM}
+     */
+    public static RandomGenerator forEntry(ServerLevel level, UUID entityId, long ordinal, long stream) {
+        return provider.forEntry(level, entityId, ordinal, stream);
+    }
+
+    /**
+     * Gets the generator of the current thread, for rolls that do not belong to an entry.
+     */
+    public static RandomGenerator current() {
+        return STREAMS.get();
+    }
+
+    /**
+     * Replaces the provider, for example with a fixed-seed one in tests.
+     */
+    public static void setProvider(Provider newProvider) {
+        provider = newProvider != null ? newProvider : THREAD_LOCAL;
+    }
+
+    /**
+     * Enables or disables deterministic mode.
+     */
+    public static void setDeterministic(boolean deterministic) {
+        setProvider(deterministic ? DETERMINISTIC : THREAD_LOCAL);
+    }
+
+    public static boolean isDeterministic() {
+        return provider == DETERMINISTIC;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads every input bit over the whole seed.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,139 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.world.entity.EntityType;
+import net.poe.entitylootdrops.util.LatencyHistogram;
+
+/**
+ * Timings and counters of the death handler for /lootdrops stats.
+ * Disabled by default; while disabled the handler only reads one flag per death.
+ * Only recorded on the server thread.
+ */
+public final class DropStats {
+    private static volatile boolean enabled;
+    private static long enabledSince;
+
+    private static final Map<Phase, LatencyHistogram> PHASES = new EnumMap<>(Phase.class);
+    private static final Map<EntityType<?>, EntityStats> ENTITIES = new HashMap<>();
+
+    static {
+        for (Phase phase : Phase.values()) {
+            PHASES.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * The timed parts of the death handler.
+     */
+    public enum Phase {
+        VANILLA_FILTER("Vanilla filter"),
+        DROP_EVENTS("Drop events"),
+        EXTRA_DROPS("Extra drops"),
+        CUSTOM_DROPS("Custom drops"),
+        EMIT("Merge and spawn"),
+        TOTAL("Total");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() { return displayName; }
+    }
+
+    /**
+     * Counters of one entity type.
+     */
+    public static final class EntityStats {
+        private final EntityType<?> type;
+        private long deaths;
+        private long entriesEvaluated;
+        private long entriesMatched;
+        private long itemsQueued;
+        private long entitiesSpawned;
+        private long totalNanos;
+
+        private EntityStats(EntityType<?> type) {
+            this.type = type;
+        }
+
+        public EntityType<?> getType() { return type; }
+        public long getDeaths() { return deaths; }
+        public long getEntriesEvaluated() { return entriesEvaluated; }
+        public long getEntriesMatched() { return entriesMatched; }
+        public long getItemsQueued() { return itemsQueued; }
+        public long getEntitiesSpawned() { return entitiesSpawned; }
+        public long getTotalNanos() { return totalNanos; }
+    }
+
+    private DropStats() {
+    }
+
+    public static boolean isEnabled() { return enabled; }
+
+    /**
+     * Turns recording on or off. Turning it on starts from empty statistics.
+     */
+    public static void setEnabled(boolean enable) {
+        if (enable && !enabled) {
+            reset();
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Records the duration of one phase of one death.
+     */
+    public static void recordPhase(Phase phase, long nanos) {
+        PHASES.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the counters of one death.
+     */
+    public static void recordDeath(EntityType<?> type, int entriesEvaluated, int entriesMatched, int itemsQueued,
+                                   int entitiesSpawned, long totalNanos) {
+        EntityStats stats = ENTITIES.computeIfAbsent(type, EntityStats::new);
+        stats.deaths++;
+        stats.entriesEvaluated += entriesEvaluated;
+        stats.entriesMatched += entriesMatched;
+        stats.itemsQueued += itemsQueued;
+        stats.entitiesSpawned += entitiesSpawned;
+        stats.totalNanos += totalNanos;
+    }
+
+    public static LatencyHistogram getPhase(Phase phase) {
+        return PHASES.get(phase);
+    }
+
+    /**
+     * Gets the entity types that took the most time, most expensive first.
+     */
+    public static List<EntityStats> getTopEntities(int count) {
+        List<EntityStats> sorted = new ArrayList<>(ENTITIES.values());
+        sorted.sort(Comparator.comparingLong(EntityStats::getTotalNanos).reversed());
+        return sorted.subList(0, Math.min(count, sorted.size()));
+    }
+
+    /**
+     * Gets the time since recording started or was last reset, in nanoseconds.
+     */
+    public static long getRecordingNanos() {
+        return System.nanoTime() - enabledSince;
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : PHASES.values()) {
+            histogram.reset();
+        }
+        ENTITIES.clear();
+        enabledSince = System.nanoTime();
+    }
+}
@@ -1,48 +1,44 @@
 package net.poe.entitylootdrops.lootdrops.events;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.UUID;
+import java.util.random.RandomGenerator;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import com.mojang.brigadier.exceptions.CommandSyntaxException;
-
-import net.minecraft.advancements.Advancement;
 import net.minecraft.commands.CommandSourceStack;
-import net.minecraft.core.Holder;
-import net.minecraft.nbt.CompoundTag;
-import net.minecraft.nbt.TagParser;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.monster.Enemy;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.phys.Vec2;
 import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.player.AdvancementEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.poe.entitylootdrops.EntityLootDrops;
 import net.poe.entitylootdrops.lootdrops.LootConfig;
+import net.poe.entitylootdrops.lootdrops.config.ActiveDropPlan;
+import net.poe.entitylootdrops.lootdrops.config.DropEntryResolver;
 import net.poe.entitylootdrops.lootdrops.config.EventConfig;
+import net.poe.entitylootdrops.lootdrops.config.VanillaDropPolicy;
+import net.poe.entitylootdrops.lootdrops.model.CommandTemplate;
 import net.poe.entitylootdrops.lootdrops.model.CustomDropEntry;
-import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedDrop;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedGroup;
 import net.poe.entitylootdrops.lootdrops.events.EventDropCountManager;
+import net.poe.entitylootdrops.util.ItemNamespaces;
 
 /**
  * Main event handler for the EntityLootDrops mod.
@@ -52,14 +48,9 @@ import net.poe.entitylootdrops.lootdrops.events.EventDropCountManager;
 public class LootEventHandler {
     // Logger for this class
     private static final Logger LOGGER = LogManager.getLogger();
-    // Random number generator for drop chances and amounts
-    private static final Random RANDOM = new Random();
     // Flag to control debug logging
     private static boolean debugLoggingEnabled = false;
 
-    // Command cooldown tracking - Maps player UUID to command hash to last execution time
-    private static final Map<UUID, Map<String, Long>> commandCooldowns = new HashMap<>();
-
     /**
      * Enables or disables debug logging.
      *
@@ -95,40 +86,78 @@ public class LootEventHandler {
      * @return true if the command is on cooldown, false otherwise
      */
     private static boolean isCommandOnCooldown(Player player, String command, int cooldownSeconds) {
-        if (cooldownSeconds <= 0) {
+        if (cooldownSeconds <= 0 || player.getServer() == null) {
             return false;
         }
+        return CommandCooldownStore.isOnCooldown(player.getUUID(), command, player.getServer().getTickCount());
+    }
 
-        UUID playerId = player.getUUID();
-        String commandHash = command.hashCode() + "";
-        long currentTime = System.currentTimeMillis();
-
-        Map<String, Long> playerCooldowns = commandCooldowns.computeIfAbsent(playerId, k -> new HashMap<>());
-        Long lastExecution = playerCooldowns.get(commandHash);
+    /**
+     * Sets a command cooldown for a player.
+     *
+     * @param player the player
+     * @param command the command
+     * @param cooldownSeconds the cooldown duration in seconds
+     */
+    private static void setCommandCooldown(Player player, String command, int cooldownSeconds) {
+        if (player.getServer() != null) {
+            CommandCooldownStore.setCooldown(player.getUUID(), command, cooldownSeconds, player.getServer().getTickCount());
+        }
+    }
 
-        if (lastExecution == null) {
-            return false;
+    /**
+     * Rebuilds the resolved drop entries, their cached item stacks and the per-type entity drops when
+     * registries or tags reload, so prototypes never refer to stale registry objects and tags match their new contents.
+     */
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
+            LootConfig.refreshResolvedDrops();
+            // Advancements are reloaded together with tags, so cached completion may be stale
+            AdvancementCache.invalidate();
+            logDebug("Refreshed resolved drop entries after tag reload");
         }
+    }
 
-        long timeSinceLastExecution = currentTime - lastExecution;
-        long cooldownMs = cooldownSeconds * 1000L;
+    /**
+     * Marks an advancement as completed in the advancement cache of the player who earned it.
+     */
+    @SubscribeEvent
+    public static void onAdvancementEarn(AdvancementEvent.AdvancementEarnEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            AdvancementCache.update(player, event.getAdvancement(), true);
+        }
+    }
 
-        return timeSinceLastExecution < cooldownMs;
+    /**
+     * Keeps the advancement cache in sync when criteria are granted or revoked, for example by /advancement revoke.
+     */
+    @SubscribeEvent
+    public static void onAdvancementProgress(AdvancementEvent.AdvancementProgressEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            AdvancementCache.update(player, event.getAdvancement(), event.getAdvancementProgress().isDone());
+        }
     }
 
     /**
-     * Sets a command cooldown for a player.
-     *
-     * @param player the player
-     * @param command the command
+     * Forgets the cached advancements of players who leave.
      */
-    private static void setCommandCooldown(Player player, String command) {
-        UUID playerId = player.getUUID();
-        String commandHash = command.hashCode() + "";
-        long currentTime = System.currentTimeMillis();
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        AdvancementCache.forget(event.getEntity().getUUID());
+    }
 
-        Map<String, Long> playerCooldowns = commandCooldowns.computeIfAbsent(playerId, k -> new HashMap<>());
-        playerCooldowns.put(commandHash, currentTime);
+    /**
+     * Runs deferred drop commands, expires command cooldowns and closes the per-tick drop statistics
+     * at the end of every server tick.
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            CommandQueue.drain(event.getServer());
+            CommandCooldownStore.evictExpired(event.getServer().getTickCount());
+            DropEmitter.rollOverTick();
+        }
     }
 
     /**
@@ -153,379 +182,207 @@ public class LootEventHandler {
         boolean playerKilled = event.getSource().getEntity() instanceof Player;
         Player player = playerKilled ? (Player) event.getSource().getEntity() : null;
 
-        logDebug("Processing drops for {} (hostile: {}, player killed: {})", entityIdStr, isHostile, playerKilled);
+        // Read the plan once so a reload or event toggle cannot change it mid-event
+        ActiveDropPlan plan = LootConfig.getActivePlan();
+        List<ActiveDropPlan.PlannedDrop> drops = plan.getDrops(entity.getType(), isHostile);
 
-        // Phase 1: Handle vanilla drop modifications (only check applicable drops)
-        handleVanillaDropModifications(event, entityIdStr, isHostile, player, playerKilled);
-
-        // Phase 2: Apply drop events to all drops (vanilla and modded)
-        if (playerKilled && player != null) {
-            applyDropEvents(event);
-        }
-
-
-        // Phase 3: Process extra vanilla drops
-        processExtraVanillaDrops(event, entity, player, entityIdStr, isHostile);
+        logDebug("Processing drops for {} (hostile: {}, player killed: {})", entityIdStr, isHostile, playerKilled);
 
-        // Phase 4: Process custom drops
-        processCustomDrops(event, entityIdStr, isHostile, player, playerKilled);
-    }
+        // Timing is read once per death so disabled stats cost a single flag check
+        boolean timed = DropStats.isEnabled();
+        long start = timed ? System.nanoTime() : 0L;
+        long phaseStart = start;
 
-    /**
-     * Handles vanilla drop modifications - only applies to entities with actual drop configurations.
-     */
-    private static void handleVanillaDropModifications(LivingDropsEvent event, String entityIdStr, boolean isHostile, Player player, boolean playerKilled) {
-        boolean shouldCancelVanillaDrops = false;
-        Set<String> allowedModIDs = new HashSet<>();
+        // Facts about this death are looked up at most once and shared by all entries
+        DropContext context = DropContext.acquire(entity, player, playerKilled);
+        try {
+            // Phase 1: Handle vanilla drop modifications (only check applicable drops)
+            handleVanillaDropModifications(event, plan.getVanillaDropPolicy(entity.getType(), isHostile), context);
+            if (timed) phaseStart = recordPhase(DropStats.Phase.VANILLA_FILTER, phaseStart);
 
-        // Check entity-specific drops first
-        for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (drop.getEntityId().equals(entityIdStr)) {
-                if (!drop.isAllowDefaultDrops()) {
-                    shouldCancelVanillaDrops = true;
-                }
-                if (drop.getAllowModIDs() != null && !drop.getAllowModIDs().isEmpty()) {
-                    allowedModIDs.addAll(drop.getAllowModIDs());
-                }
+            // Phase 2: Apply drop events to all drops (vanilla and modded)
+            if (playerKilled && player != null) {
+                applyDropEvents(event, context);
             }
-        }
+            if (timed) phaseStart = recordPhase(DropStats.Phase.DROP_EVENTS, phaseStart);
 
-        // Check hostile drops only if this is a hostile mob AND has applicable drops
-        if (isHostile) {
-            List<CustomDropEntry> applicableHostileDrops = getApplicableHostileDrops(player, playerKilled);
-            if (!applicableHostileDrops.isEmpty()) {
-                for (CustomDropEntry drop : applicableHostileDrops) {
-                    if (!drop.isAllowDefaultDrops()) {
-                        shouldCancelVanillaDrops = true;
-                    }
-                    if (drop.getAllowModIDs() != null && !drop.getAllowModIDs().isEmpty()) {
-                        allowedModIDs.addAll(drop.getAllowModIDs());
-                    }
-                }
-            }
-        }
+            // Phase 3: Process extra vanilla drops
+            processExtraVanillaDrops(event, drops, context);
+            if (timed) phaseStart = recordPhase(DropStats.Phase.EXTRA_DROPS, phaseStart);
 
-        // Check event-specific drops
-        for (String eventName : LootConfig.getActiveEvents()) {
-            String matchingEventName = findMatchingEventName(eventName);
-            if (matchingEventName != null) {
-                // Check event entity-specific drops
-                List<EntityDropEntry> eventDropList = LootConfig.getEventDrops().get(matchingEventName);
-                if (eventDropList != null) {
-                    for (EntityDropEntry drop : eventDropList) {
-                        if (drop.getEntityId().equals(entityIdStr)) {
-                            if (!drop.isAllowDefaultDrops()) {
-                                shouldCancelVanillaDrops = true;
-                            }
-                            if (drop.getAllowModIDs() != null && !drop.getAllowModIDs().isEmpty()) {
-                                allowedModIDs.addAll(drop.getAllowModIDs());
-                            }
-                        }
-                    }
-                }
+            // Phase 4: Process custom drops
+            processCustomDrops(event, drops, context);
+            if (timed) phaseStart = recordPhase(DropStats.Phase.CUSTOM_DROPS, phaseStart);
 
-                // Check event hostile drops only if this is a hostile mob AND has applicable drops
-                if (isHostile) {
-                    List<CustomDropEntry> applicableEventHostileDrops = getApplicableEventHostileDrops(matchingEventName, player, playerKilled);
-                    if (!applicableEventHostileDrops.isEmpty()) {
-                        for (CustomDropEntry drop : applicableEventHostileDrops) {
-                            if (!drop.isAllowDefaultDrops()) {
-                                shouldCancelVanillaDrops = true;
-                            }
-                            if (drop.getAllowModIDs() != null && !drop.getAllowModIDs().isEmpty()) {
-                                allowedModIDs.addAll(drop.getAllowModIDs());
-                            }
-                        }
-                    }
-                }
+            // Phase 5: Merge everything that was added into as few item entities as possible
+            int dropsBefore = event.getDrops().size();
+            int saved = context.getEmitter().emit(entity, event.getDrops());
+            if (saved > 0) {
+                logDebug("Merged drops of {} into existing stacks, saved {} item entities", entityIdStr, saved);
             }
-        }
-
-        // If no modifications needed, return early
-        if (!shouldCancelVanillaDrops && allowedModIDs.isEmpty()) {
-            return;
-        }
 
-        // Filter drops based on the configuration
-        List<ItemEntity> filteredDrops = new ArrayList<>();
-        for (ItemEntity itemEntity : event.getDrops()) {
-            ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(itemEntity.getItem().getItem());
-            if (itemId != null) {
-                String modId = itemId.getNamespace();
-
-                boolean keepDrop = false;
-
-                // If vanilla drops are not cancelled, keep all drops
-                if (!shouldCancelVanillaDrops) {
-                    keepDrop = true;
-                }
-                // If there are allowed mod IDs, keep drops from those mods
-                else if (!allowedModIDs.isEmpty() && allowedModIDs.contains(modId)) {
-                    keepDrop = true;
-                }
-
-                if (keepDrop) {
-                    filteredDrops.add(itemEntity);
-                }
+            if (timed) {
+                long end = recordPhase(DropStats.Phase.EMIT, phaseStart);
+                DropStats.recordPhase(DropStats.Phase.TOTAL, end - start);
+                DropStats.recordDeath(entity.getType(), context.getEntriesEvaluated(), context.getEntriesMatched(),
+                        context.getEmitter().getQueuedItems(), event.getDrops().size() - dropsBefore, end - start);
             }
+        } finally {
+            context.release();
         }
-
-        // Update the drops list
-        event.getDrops().clear();
-        event.getDrops().addAll(filteredDrops);
-
-        logDebug("Filtered vanilla drops: cancelled={}, allowed mods={}", shouldCancelVanillaDrops, allowedModIDs);
     }
 
     /**
-     * Gets applicable hostile drops that meet requirements.
+     * Records the time since a phase started and returns the current time as the start of the next one.
      */
-    private static List<CustomDropEntry> getApplicableHostileDrops(Player player, boolean playerKilled) {
-        List<CustomDropEntry> applicableDrops = new ArrayList<>();
-        for (CustomDropEntry drop : LootConfig.getNormalHostileDrops()) {
-            if (checkDropRequirements(drop, player, playerKilled)) {
-                applicableDrops.add(drop);
-            }
-        }
-        return applicableDrops;
+    private static long recordPhase(DropStats.Phase phase, long phaseStart) {
+        long now = System.nanoTime();
+        DropStats.recordPhase(phase, now - phaseStart);
+        return now;
     }
 
     /**
-     * Gets applicable event hostile drops that meet requirements.
+     * Handles vanilla drop modifications - only applies to entities with actual drop configurations.
+     * The decision is precomputed per entity type, so only hostile entries that change the filter are checked here.
      */
-    private static List<CustomDropEntry> getApplicableEventHostileDrops(String eventName, Player player, boolean playerKilled) {
-        List<CustomDropEntry> applicableDrops = new ArrayList<>();
-        for (CustomDropEntry drop : LootConfig.getEventHostileDrops(eventName)) {
-            if (checkDropRequirements(drop, player, playerKilled)) {
-                applicableDrops.add(drop);
-            }
+    private static void handleVanillaDropModifications(LivingDropsEvent event, VanillaDropPolicy policy,
+                                                       DropContext context) {
+        if (policy.isKeepAll()) {
+            return;
         }
-        return applicableDrops;
-    }
 
-    /**
-     * Applies drop events to existing drops.
-     */
-    private static void applyDropEvents(LivingDropsEvent event) {
-        // If double drops is active, multiply all drops by the configured amount
-        if (LootConfig.isDoubleDropsActive()) {
-            double multiplier = EventConfig.getDoubleDropChanceMultiplier();
-
-            // If multiplier is 1 or less, no additional drops needed
-            if (multiplier <= 1.0) {
-                return;
-            }
-
-            List<ItemEntity> additionalDrops = new ArrayList<>();
-
-            event.getDrops().forEach(itemEntity -> {
-                ItemStack originalStack = itemEntity.getItem();
-                ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(originalStack.getItem());
-                if (itemId != null && EventConfig.shouldAffectMod(itemId.getNamespace())) {
-                    // Create (multiplier - 1) additional copies since we already have the original
-                    int additionalCopies = (int) (multiplier - 1);
-
-                    for (int i = 0; i < additionalCopies; i++) {
-                        ItemStack duplicateStack = new ItemStack(originalStack.getItem(), originalStack.getCount());
-                        if (originalStack.getTag() != null) {
-                            duplicateStack.setTag(originalStack.getTag().copy());
-                        }
-
-                        ItemEntity duplicateEntity = new ItemEntity(
-                                itemEntity.level(),
-                                itemEntity.getX(),
-                                itemEntity.getY(),
-                                itemEntity.getZ(),
-                                duplicateStack
-                        );
-                        duplicateEntity.setDeltaMovement(itemEntity.getDeltaMovement());
-                        additionalDrops.add(duplicateEntity);
-                    }
+        boolean shouldCancelVanillaDrops = policy.cancelsDefaults();
+        BitSet allowedNamespaces = policy.getAllowedNamespaces();
+        boolean copied = false;
+        for (int i = 0; i < policy.getConditionalCount(); i++) {
+            // Hostile drops only change the filter when their requirements are met
+            if (!checkDropRequirements(policy.getConditionalEntry(i), context)) {
+                continue;
+            }
+            shouldCancelVanillaDrops |= policy.isConditionalCancel(i);
+            BitSet namespaces = policy.getConditionalNamespaces(i);
+            if (!namespaces.isEmpty()) {
+                if (!copied) {
+                    allowedNamespaces = (BitSet) allowedNamespaces.clone();
+                    copied = true;
                 }
-            });
-
-            event.getDrops().addAll(additionalDrops);
-        }
-    }
-
-    /**
-     * Processes extra vanilla drops for all applicable drop entries.
-     */
-    private static void processExtraVanillaDrops(LivingDropsEvent event, LivingEntity entity,
-                                                 Player player, String entityIdStr, boolean isHostile) {
-        // Process normal entity-specific extra drops
-        for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (drop.getEntityId().equals(entityIdStr)) {
-                addExtraVanillaDrops(event, drop, player, entity);
-            }
-        }
-
-        // Process normal hostile extra drops
-        if (isHostile) {
-            for (CustomDropEntry drop : LootConfig.getNormalHostileDrops()) {
-                addExtraVanillaDrops(event, drop, player, entity);
+                allowedNamespaces.or(namespaces);
             }
         }
 
-        // Process event-specific extra drops
-        for (String eventName : LootConfig.getActiveEvents()) {
-            String matchingEventName = findMatchingEventName(eventName);
-            if (matchingEventName != null) {
-                processEventExtraDrops(event, entityIdStr, matchingEventName, player, entity, isHostile);
-            }
+        if (!shouldCancelVanillaDrops) {
+            return;
         }
-    }
 
-    /**
-     * Processes event-specific extra drops.
-     */
-    private static void processEventExtraDrops(LivingDropsEvent event, String entityIdStr, String eventName,
-                                               Player player, LivingEntity entity, boolean isHostile) {
-        // Process event entity-specific extra drops
-        List<EntityDropEntry> eventDropList = LootConfig.getEventDrops().get(eventName);
-        if (eventDropList != null) {
-            for (EntityDropEntry drop : eventDropList) {
-                if (drop.getEntityId().equals(entityIdStr)) {
-                    addExtraVanillaDrops(event, drop, player, entity);
-                }
-            }
-        }
+        // Keep only drops from the allowed mods
+        BitSet kept = allowedNamespaces;
+        int before = event.getDrops().size();
+        event.getDrops().removeIf(itemEntity -> {
+            int namespace = ItemNamespaces.indexOfItem(itemEntity.getItem().getItem());
+            return namespace == ItemNamespaces.UNKNOWN || !kept.get(namespace);
+        });
 
-        // Process event hostile extra drops
-        if (isHostile) {
-            for (CustomDropEntry drop : LootConfig.getEventHostileDrops(eventName)) {
-                addExtraVanillaDrops(event, drop, player, entity);
-            }
-        }
+        logDebug("Filtered vanilla drops: removed {} of {}", before - event.getDrops().size(), before);
     }
 
     /**
-     * Adds extra vanilla drops based on the extraDropChance setting.
+     * Applies drop events to existing drops.
+     * Double drops scale each eligible drop by the configured multiplier. A fractional part is rounded up
+     * with matching probability, so 1.5x gives one and a half times the items on average. Drops are grown
+     * in place up to their max stack size and only the rest is queued as new stacks.
      */
-    private static void addExtraVanillaDrops(LivingDropsEvent event, CustomDropEntry drop, Player player, LivingEntity entity) {
-        if (drop.getExtraDropChance() <= 0 || !checkDropRequirements(drop, player)) {
+    private static void applyDropEvents(LivingDropsEvent event, DropContext context) {
+        if (!LootConfig.isDoubleDropsActive()) {
             return;
         }
 
-        float extraDropRoll = RANDOM.nextFloat() * 100;
-        if (extraDropRoll <= drop.getExtraDropChance()) {
-            int extraMultiplier = calculateAmount(drop.getExtraAmountMin(), drop.getExtraAmountMax());
-            List<ItemEntity> extraDrops = duplicateVanillaDrops(event, extraMultiplier);
-
-            event.getDrops().addAll(extraDrops);
-            logDebug("Added {} extra vanilla drops ({}x multiplier)", extraDrops.size(), extraMultiplier);
+        double multiplier = EventConfig.getDoubleDropChanceMultiplier();
+        if (multiplier <= 1.0) {
+            return;
         }
-    }
-
-    /**
-     * Duplicates vanilla drops with a multiplier.
-     */
-    private static List<ItemEntity> duplicateVanillaDrops(LivingDropsEvent event, int multiplier) {
-        List<ItemEntity> duplicates = new ArrayList<>();
 
+        RandomGenerator random = DropRng.current();
         for (ItemEntity itemEntity : event.getDrops()) {
-            for (int i = 0; i < multiplier; i++) {
-                ItemEntity duplicate = createDuplicateItemEntity(itemEntity);
-                duplicates.add(duplicate);
+            ItemStack stack = itemEntity.getItem();
+            if (stack.isEmpty() || !EventConfig.shouldAffectNamespace(ItemNamespaces.indexOfItem(stack.getItem()))) {
+                continue;
             }
-        }
 
-        return duplicates;
+            int extra = scaledCount(stack.getCount(), multiplier, random) - stack.getCount();
+            int inPlace = Math.min(extra, stack.getMaxStackSize() - stack.getCount());
+            if (inPlace > 0) {
+                stack.grow(inPlace);
+            }
+            context.getEmitter().addVanillaItems(stack, extra - inPlace);
+        }
     }
 
     /**
-     * Creates a duplicate of an ItemEntity.
+     * Multiplies a count, rounding the fractional part up with a probability equal to its size.
      */
-    private static ItemEntity createDuplicateItemEntity(ItemEntity original) {
-        ItemStack originalStack = original.getItem();
-        ItemStack duplicateStack = new ItemStack(originalStack.getItem(), originalStack.getCount());
-
-        if (originalStack.hasTag()) {
-            duplicateStack.setTag(originalStack.getTag().copy());
+    private static int scaledCount(int count, double multiplier, RandomGenerator random) {
+        double scaled = count * multiplier;
+        long whole = (long) scaled;
+        if (random.nextDouble() < scaled - whole) {
+            whole++;
         }
-
-        ItemEntity duplicate = new ItemEntity(
-                original.level(),
-                original.getX(),
-                original.getY(),
-                original.getZ(),
-                duplicateStack
-        );
-        duplicate.setDeltaMovement(original.getDeltaMovement());
-
-        return duplicate;
+        return (int) Math.min(Integer.MAX_VALUE, whole);
     }
 
     /**
-     * Processes custom drops for a specific entity.
+     * Processes extra vanilla drops for all applicable drop entries.
      */
-    private static void processCustomDrops(LivingDropsEvent event, String entityIdStr, boolean isHostile,
-                                           Player player, boolean playerKilled) {
-        // Process normal entity-specific drops
-        processEntityDrops(event, entityIdStr, LootConfig.getNormalDrops(), player, playerKilled, "Normal");
-
-        // Process normal hostile drops
-        if (isHostile) {
-            processDrops(event, LootConfig.getNormalHostileDrops(), player, playerKilled, "Normal");
-        }
-
-        // Process event-specific drops
-        for (String eventName : LootConfig.getActiveEvents()) {
-            String matchingEventName = findMatchingEventName(eventName);
-            if (matchingEventName != null) {
-                processEventDrops(event, entityIdStr, matchingEventName, player, playerKilled, isHostile);
-            }
+    private static void processExtraVanillaDrops(LivingDropsEvent event, List<ActiveDropPlan.PlannedDrop> drops,
+                                                 DropContext context) {
+        for (ActiveDropPlan.PlannedDrop planned : drops) {
+            addExtraVanillaDrops(event, planned.getEntry(), context);
         }
     }
 
     /**
-     * Processes event-specific drops.
+     * Adds extra vanilla drops based on the extraDropChance setting.
      */
-    private static void processEventDrops(LivingDropsEvent event, String entityIdStr, String eventName,
-                                          Player player, boolean playerKilled, boolean isHostile) {
-        // Process event entity-specific drops
-        List<EntityDropEntry> eventDropList = LootConfig.getEventDrops().get(eventName);
-        if (eventDropList != null) {
-            processEntityDrops(event, entityIdStr, eventDropList, player, playerKilled, eventName);
+    private static void addExtraVanillaDrops(LivingDropsEvent event, CustomDropEntry drop, DropContext context) {
+        if (drop.getExtraDropChance() <= 0 || !checkPlayerRequirements(drop, context)) {
+            return;
         }
 
-        // Process event hostile drops
-        if (isHostile) {
-            processDrops(event, LootConfig.getEventHostileDrops(eventName), player, playerKilled, eventName);
-        }
-    }
+        RandomGenerator random = entryRandom(context, drop, DropRng.EXTRA_STREAM);
+        float extraDropRoll = random.nextFloat() * 100;
+        if (extraDropRoll <= drop.getExtraDropChance()) {
+            int extraMultiplier = calculateAmount(random, drop.getExtraAmountMin(), drop.getExtraAmountMax());
+            int duplicated = duplicateVanillaDrops(event, context.getEmitter(), extraMultiplier);
 
-    /**
-     * Finds a matching event name (case-insensitive).
-     */
-    private static String findMatchingEventName(String eventName) {
-        for (String key : LootConfig.getEventDrops().keySet()) {
-            if (key.equalsIgnoreCase(eventName)) {
-                return key;
-            }
+            logDebug("Added {} extra vanilla drops ({}x multiplier)", duplicated, extraMultiplier);
         }
-        return null;
     }
 
     /**
-     * Processes entity-specific drops for a given entity.
+     * Duplicates vanilla drops with a multiplier, including the copies queued by earlier stages.
+     *
+     * @return the number of drops that were duplicated
      */
-    private static void processEntityDrops(LivingDropsEvent event, String entityIdStr,
-                                           List<EntityDropEntry> dropsList, Player player, boolean playerKilled, String eventName) {
-        for (EntityDropEntry drop : dropsList) {
-            if (drop.getEntityId().equals(entityIdStr)) {
-                processDropEntry(event, drop, player, playerKilled, eventName);
-            }
+    private static int duplicateVanillaDrops(LivingDropsEvent event, DropEmitter emitter, int multiplier) {
+        List<ItemStack> pending = emitter.getPendingVanilla();
+        int pendingCount = pending.size();
+
+        for (ItemEntity itemEntity : event.getDrops()) {
+            emitter.addVanilla(itemEntity.getItem(), multiplier);
         }
+        for (int i = 0; i < pendingCount; i++) {
+            emitter.addVanilla(pending.get(i), multiplier);
+        }
+
+        return event.getDrops().size() + pendingCount;
     }
 
     /**
-     * Processes a list of custom drops.
+     * Processes custom drops for a specific entity.
      */
-    private static void processDrops(LivingDropsEvent event, List<CustomDropEntry> drops,
-                                     Player player, boolean playerKilled, String eventName) {
-        for (CustomDropEntry drop : drops) {
-            processDropEntry(event, drop, player, playerKilled, eventName);
+    private static void processCustomDrops(LivingDropsEvent event, List<ActiveDropPlan.PlannedDrop> drops,
+                                           DropContext context) {
+        for (ActiveDropPlan.PlannedDrop planned : drops) {
+            processDropEntry(event, planned.getEntry(), context, planned.getEventName());
         }
     }
 
@@ -533,18 +390,23 @@ public class LootEventHandler {
      * Processes a single drop entry.
      */
     private static void processDropEntry(LivingDropsEvent event, CustomDropEntry drop,
-                                         Player player, boolean playerKilled, String eventName) {
+                                         DropContext context, String eventName) {
         try {
             // Check all requirements
-            if (!checkDropRequirements(drop, player, playerKilled)) {
+            context.countEvaluated();
+            if (!checkDropRequirements(drop, context)) {
                 return;
             }
+            context.countMatched();
+
+            Player player = context.getKiller();
+            RandomGenerator random = entryRandom(context, drop, DropRng.DROP_STREAM);
 
             // Execute command if present
-            executeDropCommand(drop, player, event.getEntity());
+            executeDropCommand(drop, player, event.getEntity(), random);
 
             // Handle item drop - NOW WITH EVENT NAME
-            handleItemDrop(event, drop, player, eventName);
+            handleItemDrop(event, drop, player, context.getEmitter(), eventName, random);
 
         } catch (Exception e) {
             LOGGER.error("Error processing drop {}: {}", drop.getItemId(), e.getMessage());
@@ -554,7 +416,7 @@ public class LootEventHandler {
     /**
      * Executes the drop command if present and conditions are met.
      */
-    private static void executeDropCommand(CustomDropEntry drop, Player player, LivingEntity entity) {
+    private static void executeDropCommand(CustomDropEntry drop, Player player, LivingEntity entity, RandomGenerator random) {
         if (drop.hasCommand() && player instanceof ServerPlayer) {
             ServerPlayer serverPlayer = (ServerPlayer) player;
 
@@ -566,14 +428,14 @@ public class LootEventHandler {
             }
 
             float commandChance = drop.getCommandChance();
-            if (commandChance > 0 && RANDOM.nextFloat() * 100 <= commandChance) {
+            if (commandChance > 0 && random.nextFloat() * 100 <= commandChance) {
                 logDebug("Executing command: {}", drop.getCommand());
-                executeCommand(drop.getCommand(), serverPlayer, entity);
+                executeCommand(getResolved(drop).getCommand(), serverPlayer, entity);
 
                 // Set cooldown after successful execution
                 if (drop.getCommandCoolDown() > 0) {
                     logDebug("Setting cooldown for {} seconds", drop.getCommandCoolDown());
-                    setCommandCooldown(player, drop.getCommand());
+                    setCommandCooldown(player, drop.getCommand(), drop.getCommandCoolDown());
                     logDebug("Cooldown set for player {}", player.getName().getString());
                 }
             }
@@ -583,9 +445,10 @@ public class LootEventHandler {
     /**
      * Handles the item drop logic.
      */
-    private static void handleItemDrop(LivingDropsEvent event, CustomDropEntry drop, Player player, String eventName) {
-        // Skip item drop if itemId is null or empty
-        if (drop.getItemId() == null || drop.getItemId().isEmpty()) {
+    private static void handleItemDrop(LivingDropsEvent event, CustomDropEntry drop, Player player,
+                                       DropEmitter emitter, String eventName, RandomGenerator random) {
+        // Skip item drop if the entry has neither an itemId nor a loot group
+        if (!drop.hasItem() && !drop.hasGroup()) {
             return;
         }
 
@@ -594,12 +457,19 @@ public class LootEventHandler {
             dropChance *= 2.0f;
         }
 
-        if (RANDOM.nextFloat() * 100 <= dropChance) {
-            int amount = calculateAmount(drop.getMinAmount(), drop.getMaxAmount());
+        if (drop.hasGroup()) {
+            if (random.nextFloat() * 100 <= dropChance) {
+                handleGroupDrop(event, drop, player, emitter, eventName, random);
+            }
+            return;
+        }
+
+        if (random.nextFloat() * 100 <= dropChance) {
+            int amount = calculateAmount(random, drop.getMinAmount(), drop.getMaxAmount());
             ItemStack stack = createItemStack(drop, amount);
 
             if (stack != null) {
-                event.getEntity().spawnAtLocation(stack);
+                emitter.addCustom(stack);
                 logDebug("Dropped {} x{} from {}", drop.getItemId(), amount,
                         ForgeRegistries.ENTITY_TYPES.getKey(event.getEntity().getType()));
 
@@ -607,7 +477,33 @@ public class LootEventHandler {
                 recordDropCountEnabledItems(player, eventName, drop, drop.getItemId(), amount);
 
                 // Execute drop command if present
-                executeDropCommandOnDrop(drop, player, event.getEntity(), amount);
+                executeDropCommandOnDrop(drop, player, event.getEntity(), amount, random);
+            }
+        }
+    }
+
+    /**
+     * Drops the items picked from a loot group, one weighted pick per roll.
+     */
+    private static void handleGroupDrop(LivingDropsEvent event, CustomDropEntry drop, Player player,
+                                        DropEmitter emitter, String eventName, RandomGenerator random) {
+        ResolvedGroup group = getGroup(drop);
+        if (group == null) {
+            return; // No item with a positive weight, reported when the config was loaded
+        }
+
+        for (int roll = 0; roll < group.getRolls(); roll++) {
+            int index = group.pick(random);
+            int amount = calculateAmount(random, group.getMinAmount(index), group.getMaxAmount(index));
+            ItemStack stack = group.createStack(index, amount);
+
+            if (stack != null) {
+                emitter.addCustom(stack);
+                logDebug("Dropped {} x{} from loot group of {}", group.getItemId(index), amount,
+                        ForgeRegistries.ENTITY_TYPES.getKey(event.getEntity().getType()));
+
+                recordDropCountEnabledItems(player, eventName, drop, group.getItemId(index), amount);
+                executeDropCommandOnDrop(drop, player, event.getEntity(), amount, random);
             }
         }
     }
@@ -615,7 +511,8 @@ public class LootEventHandler {
     /**
      * Executes the drop command when an item actually drops.
      */
-    private static void executeDropCommandOnDrop(CustomDropEntry drop, Player player, LivingEntity entity, int amount) {
+    private static void executeDropCommandOnDrop(CustomDropEntry drop, Player player, LivingEntity entity, int amount,
+                                                 RandomGenerator random) {
         if (drop.hasDropCommand() && player instanceof ServerPlayer) {
             ServerPlayer serverPlayer = (ServerPlayer) player;
 
@@ -623,31 +520,28 @@ public class LootEventHandler {
             int cooldownSeconds = 0; // Default no cooldown for dropCommand
 
             float dropCommandChance = drop.getDropCommandChance();
-            if (dropCommandChance > 0 && RANDOM.nextFloat() * 100 <= dropCommandChance) {
+            if (dropCommandChance > 0 && random.nextFloat() * 100 <= dropCommandChance) {
                 logDebug("Executing drop command: {}", drop.getDropCommand());
-                executeCommand(drop.getDropCommand(), serverPlayer, entity);
+                executeCommand(getResolved(drop).getDropCommand(), serverPlayer, entity);
 
                 // Set cooldown after successful execution if needed
                 if (cooldownSeconds > 0) {
-                    setCommandCooldown(player, drop.getDropCommand());
+                    setCommandCooldown(player, drop.getDropCommand(), cooldownSeconds);
                 }
             }
         }
     }
 
     /**
-     * Executes a command with placeholder replacement.
+     * Executes a compiled command with its placeholders filled in.
      */
-    private static void executeCommand(String command, ServerPlayer player, LivingEntity entity) {
+    private static void executeCommand(CommandTemplate command, ServerPlayer player, LivingEntity entity) {
         try {
             MinecraftServer server = player.getServer();
-            if (server == null) {
+            if (server == null || command == null) {
                 return;
             }
 
-            // Replace placeholders
-            String processedCommand = replacePlaceholders(command, player, entity);
-
             // Create command source
             CommandSourceStack commandSource = server.createCommandSourceStack()
                     .withEntity(player)
@@ -656,277 +550,105 @@ public class LootEventHandler {
                     .withRotation(player.getRotationVector())
                     .withPermission(2);
 
-            // Execute the command
-            server.getCommands().performPrefixedCommand(commandSource, processedCommand);
+            // Render now so placeholders keep the values of the kill, even when the command is deferred
+            if (EventConfig.isDeferCommands()) {
+                CommandQueue.enqueue(command.render(player, entity), command.isCacheable(), commandSource);
+            } else {
+                CommandRunner.execute(server, command, commandSource, player, entity);
+            }
 
         } catch (Exception e) {
-            LOGGER.error("Error executing command '{}': {}", command, e.getMessage());
+            LOGGER.error("Error executing command '{}': {}", command.getSource(), e.getMessage());
         }
     }
 
     /**
      * Calculates a random amount between min and max (inclusive).
      */
-    private static int calculateAmount(int min, int max) {
+    private static int calculateAmount(RandomGenerator random, int min, int max) {
         if (max <= min) {
             return min;
         }
-        return min + RANDOM.nextInt(max - min + 1);
+        return min + random.nextInt(max - min + 1);
     }
 
     /**
-     * Creates an ItemStack from a drop entry.
+     * Gets the random generator for the rolls of an entry on this death.
      */
-    private static ItemStack createItemStack(CustomDropEntry drop, int amount) {
-        try {
-            ResourceLocation itemId = new ResourceLocation(drop.getItemId());
-            Item item = ForgeRegistries.ITEMS.getValue(itemId);
-
-            if (item == null) {
-                LOGGER.warn("Unknown item: {}", drop.getItemId());
-                return null;
-            }
-
-            ItemStack stack = new ItemStack(item, amount);
-
-            // Apply NBT if present
-            if (drop.getNbtData() != null && !drop.getNbtData().isEmpty()) {
-                try {
-                    CompoundTag nbt = TagParser.parseTag(drop.getNbtData());
-                    stack.setTag(nbt);
-                } catch (CommandSyntaxException e) {
-                    LOGGER.error("Invalid NBT for item {}: {}", drop.getItemId(), e.getMessage());
-                }
-            }
-
-            return stack;
-        } catch (Exception e) {
-            LOGGER.error("Error creating item stack for {}: {}", drop.getItemId(), e.getMessage());
-            return null;
-        }
+    private static RandomGenerator entryRandom(DropContext context, CustomDropEntry drop, long stream) {
+        LivingEntity victim = context.getVictim();
+        ServerLevel level = victim.level() instanceof ServerLevel ? (ServerLevel) victim.level() : null;
+        return DropRng.forEntry(level, victim.getUUID(), drop.getOrdinal(), stream);
     }
 
     /**
-     * Checks if all drop requirements are met.
+     * Gets the compiled loot group of a drop entry, or null if it has none.
      */
-    private static boolean checkDropRequirements(CustomDropEntry drop, Player player, boolean playerKilled) {
-        // Check player kill requirement
-        if (drop.isRequirePlayerKill() && !playerKilled) {
-            return false;
-        }
-
-        // If requirePlayerKill is false and no player killed the mob, skip player-dependent checks
-        if (!drop.isRequirePlayerKill() && player == null) {
-            return true; // No player-dependent requirements to check
-        }
-
-        return checkDropRequirements(drop, player);
+    static ResolvedGroup getGroup(CustomDropEntry drop) {
+        return getResolved(drop).getGroup();
     }
 
     /**
-     * Checks if all drop requirements are met (overloaded version).
+     * Creates an ItemStack from a drop entry by copying its prebuilt prototype.
+     * Returns null for unknown items, which are reported once when the config is loaded.
      */
-    private static boolean checkDropRequirements(CustomDropEntry drop, Player player) {
-        // If requirePlayerKill is false and player is null, we already handled this case above
-        if (player == null) {
-            return false; // This should only happen if requirePlayerKill is true
-        }
-
-        // Check advancement requirement
-        if (drop.getRequiredAdvancement() != null && !drop.getRequiredAdvancement().isEmpty()) {
-            if (!hasAdvancement(player, drop.getRequiredAdvancement())) {
-                return false;
-            }
-        }
-
-        // Check effect requirement
-        if (drop.getRequiredEffect() != null && !drop.getRequiredEffect().isEmpty()) {
-            if (!hasEffect(player, drop.getRequiredEffect())) {
-                return false;
-            }
-        }
-
-        // Check equipment requirement
-        if (drop.getRequiredEquipment() != null && !drop.getRequiredEquipment().isEmpty()) {
-            if (!hasEquipment(player, drop.getRequiredEquipment())) {
-                return false;
-            }
-        }
-
-        // Check weather requirement
-        if (drop.getRequiredWeather() != null && !drop.getRequiredWeather().isEmpty()) {
-            if (!checkWeather(player, drop.getRequiredWeather())) {
-                return false;
-            }
-        }
-
-        // Check time requirement
-        if (drop.getRequiredTime() != null && !drop.getRequiredTime().isEmpty()) {
-            if (!checkTime(player, drop.getRequiredTime())) {
-                return false;
-            }
-        }
-
-        // Check dimension requirement
-        if (drop.getRequiredDimension() != null && !drop.getRequiredDimension().isEmpty()) {
-            if (!checkDimension(player, drop.getRequiredDimension())) {
-                return false;
-            }
-        }
-
-        // Check biome requirement
-        if (drop.getRequiredBiome() != null && !drop.getRequiredBiome().isEmpty()) {
-            if (!checkBiome(player, drop.getRequiredBiome())) {
-                return false;
-            }
-        }
-
-        return true;
+    static ItemStack createItemStack(CustomDropEntry drop, int amount) {
+        return getResolved(drop).createStack(amount);
     }
 
     /**
-     * Checks if the player has the required advancement.
+     * Gets the registry-resolved form of a drop entry.
+     * Entries are resolved when the config loads; this only resolves lazily for entries created elsewhere.
      */
-    private static boolean hasAdvancement(Player player, String advancementId) {
-        if (!(player instanceof ServerPlayer)) {
-            return false;
+    private static ResolvedDrop getResolved(CustomDropEntry drop) {
+        ResolvedDrop resolved = drop.getResolved();
+        if (resolved == null) {
+            resolved = DropEntryResolver.resolve(drop);
+            drop.setResolved(resolved);
         }
-
-        ServerPlayer serverPlayer = (ServerPlayer) player;
-        ResourceLocation advancementLocation = new ResourceLocation(advancementId);
-        Advancement advancement = serverPlayer.getServer().getAdvancements().getAdvancement(advancementLocation);
-
-        return advancement != null && serverPlayer.getAdvancements().getOrStartProgress(advancement).isDone();
+        return resolved;
     }
 
     /**
-     * Checks if the player has the required effect.
-     */
-    private static boolean hasEffect(Player player, String effectId) {
-        ResourceLocation effectLocation = new ResourceLocation(effectId);
-        Holder<MobEffect> effectHolder = ForgeRegistries.MOB_EFFECTS.getHolder(effectLocation).orElse(null);
-
-        return effectHolder != null && player.hasEffect(effectHolder.value());
-    }
-
-    /**
-     * Checks if the player has the required equipment.
+     * Checks if all drop requirements are met.
      */
-    private static boolean hasEquipment(Player player, String equipmentId) {
-        ResourceLocation itemLocation = new ResourceLocation(equipmentId);
-        Item requiredItem = ForgeRegistries.ITEMS.getValue(itemLocation);
-
-        if (requiredItem == null) {
+    static boolean checkDropRequirements(CustomDropEntry drop, DropContext context) {
+        // Check player kill requirement
+        if (drop.isRequirePlayerKill() && !context.isPlayerKilled()) {
             return false;
         }
 
-        // Check main hand
-        if (player.getMainHandItem().getItem() == requiredItem) {
-            return true;
-        }
-
-        // Check off hand
-        if (player.getOffhandItem().getItem() == requiredItem) {
-            return true;
-        }
-
-        // Check armor slots
-        for (ItemStack armorStack : player.getArmorSlots()) {
-            if (armorStack.getItem() == requiredItem) {
-                return true;
-            }
+        // If requirePlayerKill is false and no player killed the mob, skip player-dependent checks
+        if (!drop.isRequirePlayerKill() && context.getKiller() == null) {
+            return true; // No player-dependent requirements to check
         }
 
-        return false;
+        return checkPlayerRequirements(drop, context);
     }
 
     /**
-     * Checks if the weather condition is met.
+     * Checks the requirements that depend on the killing player.
      */
-    private static boolean checkWeather(Player player, String weatherCondition) {
-        if (player.level().isClientSide) {
-            return false;
+    private static boolean checkPlayerRequirements(CustomDropEntry drop, DropContext context) {
+        if (context.getKiller() == null) {
+            return false; // This should only happen if requirePlayerKill is true
         }
 
-        switch (weatherCondition.toLowerCase()) {
-            case "clear":
-                return !player.level().isRaining() && !player.level().isThundering();
-            case "rain":
-                return player.level().isRaining() && !player.level().isThundering();
-            case "thunder":
-                return player.level().isThundering();
-            default:
-                return false;
-        }
-    }
+        ResolvedDrop resolved = getResolved(drop);
 
-    /**
-     * Checks if the time condition is met.
-     */
-    private static boolean checkTime(Player player, String timeRequirement) {
-        long time = player.level().getDayTime() % 24000;
-        switch (timeRequirement.toLowerCase()) {
-            case "day":
-                return time >= 0 && time < 12000;
-            case "night":
-                return time >= 12000 && time < 24000;
-            case "dawn":
-                return time >= 23000 || time < 1000;
-            case "dusk":
-                return time >= 11000 && time < 13000;
-            default:
-                return false;
+        // A requirement that could not be resolved can never be met
+        if (resolved.isUnsatisfiable()) {
+            return false;
         }
-    }
 
-    /**
-     * Checks if the dimension condition is met.
-     */
-    private static boolean checkDimension(Player player, String dimensionId) {
-        ResourceLocation currentDimension = player.level().dimension().location();
-        ResourceLocation requiredDimension = new ResourceLocation(dimensionId);
-        return currentDimension.equals(requiredDimension);
-    }
-
-    /**
-     * Checks if the biome condition is met.
-     */
-    private static boolean checkBiome(Player player, String biomeId) {
-        ResourceLocation requiredBiome = new ResourceLocation(biomeId);
-        Holder<Biome> currentBiome = player.level().getBiome(player.blockPosition());
-        return currentBiome.is(requiredBiome);
+        // Remaining requirements are checked in an order adapted to how often each one rejects
+        return RequirementEvaluator.check(resolved, context);
     }
 
-    /**
-     * Replaces placeholders in commands.
-     */
-    private static String replacePlaceholders(String command, ServerPlayer player, LivingEntity entity) {
-        String result = command;
-
-        // Player placeholders
-        result = result.replace("{player}", player.getName().getString());
-        result = result.replace("{player_x}", String.valueOf((int) player.getX()));
-        result = result.replace("{player_y}", String.valueOf((int) player.getY()));
-        result = result.replace("{player_z}", String.valueOf((int) player.getZ()));
-        result = result.replace("{player_uuid}", player.getUUID().toString());
-
-        // Entity placeholders
-        result = result.replace("{entity_x}", String.valueOf((int) entity.getX()));
-        result = result.replace("{entity_y}", String.valueOf((int) entity.getY()));
-        result = result.replace("{entity_z}", String.valueOf((int) entity.getZ()));
-        result = result.replace("{entity_type}", ForgeRegistries.ENTITY_TYPES.getKey(entity.getType()).toString());
-        result = result.replace("{entity_uuid}", entity.getUUID().toString());
-
-        // Special placeholders
-        result = result.replace("@killer", player.getName().getString());
-        result = result.replace("@player", player.getName().getString());
-
-        return result;
-    }
     /**
      * Records drops for items that have enableDropCount=true in their configuration.
      */
-    private static void recordDropCountEnabledItems(Player player, String eventKey, CustomDropEntry entry,
+    static void recordDropCountEnabledItems(Player player, String eventKey, CustomDropEntry entry,
                                                     String itemId, int actualAmount) {
         if (player == null || !entry.isEnableDropCount()) {
             return;
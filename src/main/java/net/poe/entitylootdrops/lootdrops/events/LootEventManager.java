@@ -277,10 +277,10 @@ public class LootEventManager {
     }
 
     /**
-     * Gets all currently active events.
+     * Gets all currently active events as a read-only view.
      */
     public Set<String> getActiveEvents() {
-        return new HashSet<>(activeEvents);
+        return Collections.unmodifiableSet(activeEvents);
     }
 
     /**
@@ -0,0 +1,115 @@
+package net.poe.entitylootdrops.lootdrops.events;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
+import net.poe.entitylootdrops.lootdrops.model.RequirementStats;
+import net.poe.entitylootdrops.lootdrops.model.RequirementType;
+import net.poe.entitylootdrops.lootdrops.model.ResolvedDrop;
+
+/**
+ * Checks the player requirements of a drop entry.
+ * Each entry checks its requirements in its own order, which is periodically re-sorted so that
+ * cheap requirements that often reject the drop run first. Costs are estimated per requirement type
+ * from timed samples; only every {@value #SAMPLE_INTERVAL}th evaluation is timed to keep the overhead low.
+ * The server thread is the only writer of the costs and the per-entry stats; checks on any other thread
+ * use the current order without recording anything.
+ */
+public final class RequirementEvaluator {
+    // How many evaluations of an entry happen between two reorders
+    private static final int REORDER_INTERVAL = 256;
+    // Every SAMPLE_INTERVAL-th evaluation is timed, must be a power of two
+    private static final int SAMPLE_INTERVAL = 64;
+    // Weight of a new sample in the moving average of a requirement's cost
+    private static final double COST_SMOOTHING = 0.05;
+
+    // Estimated cost of each requirement type in nanoseconds, indexed by ordinal; seeded with rough guesses
+    private static final double[] COST_NANOS = {
+            15.0,  // ADVANCEMENT
+            40.0,  // EFFECT
+            60.0,  // EQUIPMENT
+            20.0,  // WEATHER
+            20.0,  // TIME
+            10.0,  // DIMENSION
+            150.0  // BIOME
+    };
+
+    // Only touched on the server thread
+    private static int evaluationCounter;
+
+    private RequirementEvaluator() {
+    }
+
+    /**
+     * Checks all requirements of a drop against the killer in the context.
+     * Stops at the first requirement that is not met.
+     */
+    public static boolean check(ResolvedDrop resolved, DropContext context) {
+        RequirementStats stats = resolved.getRequirementStats();
+        RequirementType[] order = stats.getOrder();
+        if (order.length == 0) {
+            return true;
+        }
+        if (!context.isServerThread()) {
+            for (RequirementType type : order) {
+                if (!test(type, resolved, context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean sample = (++evaluationCounter & (SAMPLE_INTERVAL - 1)) == 0;
+        boolean passed = true;
+        for (RequirementType type : order) {
+            long start = sample ? System.nanoTime() : 0L;
+            boolean met = test(type, resolved, context);
+            if (sample) {
+                recordCost(type, System.nanoTime() - start);
+            }
+
+            stats.record(type, met);
+            if (!met) {
+                passed = false;
+                break;
+            }
+        }
+
+        if (stats.countEvaluation(REORDER_INTERVAL)) {
+            stats.reorder(COST_NANOS);
+        }
+        return passed;
+    }
+
+    /**
+     * Gets the current cost estimate of a requirement type in nanoseconds.
+     */
+    public static double getCostEstimate(RequirementType type) {
+        return COST_NANOS[type.ordinal()];
+    }
+
+    private static void recordCost(RequirementType type, long nanos) {
+        int index = type.ordinal();
+        COST_NANOS[index] += COST_SMOOTHING * (nanos - COST_NANOS[index]);
+    }
+
+    private static boolean test(RequirementType type, ResolvedDrop resolved, DropContext context) {
+        Player player = context.getKiller();
+        switch (type) {
+            case ADVANCEMENT: return hasAdvancement(player, resolved.getRequiredAdvancementIndex());
+            case EFFECT: return player.hasEffect(resolved.getRequiredEffect());
+            case EQUIPMENT: return context.hasEquipment(resolved.getRequiredEquipment());
+            case WEATHER: return resolved.getRequiredWeather().matches(context.isRaining(), context.isThundering());
+            case TIME: return resolved.getRequiredTime().matches(context.getDayTime());
+            case DIMENSION: return context.getKillerDimension() == resolved.getRequiredDimension();
+            case BIOME: return context.getKillerBiome().is(resolved.getRequiredBiome());
+            default: return true;
+        }
+    }
+
+    /**
+     * Checks if the player has the required advancement, using the cached completion bits.
+     */
+    private static boolean hasAdvancement(Player player, int advancementIndex) {
+        return player instanceof ServerPlayer serverPlayer && AdvancementCache.isDone(serverPlayer, advancementIndex);
+    }
+}
@@ -0,0 +1,152 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * A drop command split once into literal text and placeholder slots, rendered in a single pass.
+ * A template is cacheable when its placeholders only fill argument positions and render the same text
+ * for the same player and entity type, so a parsed form of the rendered command can be reused.
+ */
+public final class CommandTemplate {
+    private final String source;
+    private final String[] literals;            // Text before each slot, plus the trailing text
+    private final Placeholder[] slots;
+    private final boolean cacheable;
+
+    private CommandTemplate(String source, String[] literals, Placeholder[] slots, boolean cacheable) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * The placeholders a command may contain.
+     */
+    public enum Placeholder {
+        PLAYER("{player}", true),
+        PLAYER_X("{player_x}", false),
+        PLAYER_Y("{player_y}", false),
+        PLAYER_Z("{player_z}", false),
+        PLAYER_UUID("{player_uuid}", true),
+        ENTITY_X("{entity_x}", false),
+        ENTITY_Y("{entity_y}", false),
+        ENTITY_Z("{entity_z}", false),
+        ENTITY_TYPE("{entity_type}", true),
+        ENTITY_UUID("{entity_uuid}", false),
+        KILLER("@killer", true),
+        PLAYER_SELECTOR("@player", true);
+
+        private static final Placeholder[] VALUES = values();
+
+        private final String token;
+        private final boolean stable;           // Renders the same text for the same player and entity type
+
+        Placeholder(String token, boolean stable) {
+            this.token = token;
+            this.stable = stable;
+        }
+
+        public String getToken() { return token; }
+        public boolean isStable() { return stable; }
+
+        private void render(StringBuilder out, ServerPlayer player, LivingEntity entity) {
+            switch (this) {
+                case PLAYER:
+                case KILLER:
+                case PLAYER_SELECTOR:
+                    out.append(player.getName().getString());
+                    break;
+                case PLAYER_X: out.append((int) player.getX()); break;
+                case PLAYER_Y: out.append((int) player.getY()); break;
+                case PLAYER_Z: out.append((int) player.getZ()); break;
+                case PLAYER_UUID: out.append(player.getUUID()); break;
+                case ENTITY_X: out.append((int) entity.getX()); break;
+                case ENTITY_Y: out.append((int) entity.getY()); break;
+                case ENTITY_Z: out.append((int) entity.getZ()); break;
+                case ENTITY_TYPE:
+                    ResourceLocation type = ForgeRegistries.ENTITY_TYPES.getKey(entity.getType());
+                    out.append(type);
+                    break;
+                default: out.append(entity.getUUID()); break;
+            }
+        }
+    }
+
+    /**
+     * Splits a command into literals and placeholder slots. A leading slash is dropped.
+     */
+    public static CommandTemplate compile(String command) {
+        String text = command.startsWith("/") ? command.substring(1) : command;
+        int commandNameEnd = text.indexOf(' ');
+        if (commandNameEnd < 0) {
+            commandNameEnd = text.length();
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> slots = new ArrayList<>();
+        boolean cacheable = true;
+        int literalStart = 0;
+        int i = 0;
+        while (i < text.length()) {
+            Placeholder placeholder = matchAt(text, i);
+            if (placeholder == null) {
+                i++;
+                continue;
+            }
+            literals.add(text.substring(literalStart, i));
+            slots.add(placeholder);
+            // A placeholder in the command name changes which command is parsed
+            if (!placeholder.isStable() || i < commandNameEnd) {
+                cacheable = false;
+            }
+            i += placeholder.getToken().length();
+            literalStart = i;
+        }
+        literals.add(text.substring(literalStart));
+
+        return new CommandTemplate(command, literals.toArray(new String[0]), slots.toArray(new Placeholder[0]), cacheable);
+    }
+
+    private static Placeholder matchAt(String text, int index) {
+        char c = text.charAt(index);
+        if (c != '{' && c != '@') {
+            return null;
+        }
+        for (Placeholder placeholder : Placeholder.VALUES) {
+            if (text.startsWith(placeholder.getToken(), index)) {
+                return placeholder;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Renders the command for a player and the killed entity.
+     */
+    public String render(ServerPlayer player, LivingEntity entity) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(source.length() + 32);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            slots[i].render(out, player, entity);
+        }
+        out.append(literals[slots.length]);
+        return out.toString();
+    }
+
+    /**
+     * Gets the command as configured, used for logging and cooldowns.
+     */
+    public String getSource() { return source; }
+    public boolean isCacheable() { return cacheable; }
+    public boolean hasPlaceholders() { return slots.length > 0; }
+}
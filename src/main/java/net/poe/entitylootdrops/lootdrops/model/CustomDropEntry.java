@@ -3,6 +3,8 @@ package net.poe.entitylootdrops.lootdrops.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gson.annotations.JsonAdapter;
+
 public class CustomDropEntry {
     private String itemId;              // The Minecraft item ID (e.g., "minecraft:diamond")
     private float dropChance;           // Percentage chance to drop (0-100)
@@ -11,7 +13,8 @@ public class CustomDropEntry {
     private String nbtData;             // Custom NBT data for the item (for enchantments, names, etc.)
     private String requiredAdvancement; // Player must have this advancement to get the drop
     private String requiredEffect;      // Player must have this potion effect to get the drop
-    private String requiredEquipment;   // Player must have this item equipped to get the drop
+    @JsonAdapter(StringListAdapter.class)
+    private List<String> requiredEquipment; // Player must have one of these items or #item tags equipped
     private String requiredWeather;     // "clear", "rain", "thunder"
     private String requiredTime;        // "day", "night", "dawn", "dusk"
     private String requiredDimension;   // Player must be in this dimension to get the drop
@@ -29,6 +32,9 @@ public class CustomDropEntry {
     private int extraAmountMin = 1;          // Minimum amount of extra vanilla drops
     private int extraAmountMax = 1;          // Maximum amount of extra vanilla drops
     private boolean enableDropCount = false; // Enable drop count tracking for this entry
+    private LootGroup group;                 // Weighted items picked instead of itemId when the entry drops
+    private transient ResolvedDrop resolved;  // Registry-resolved form, filled in when the config is loaded
+    private transient long ordinal = -1;      // Derived from the source file and position in it, used to seed replayable rolls
 
     /**
      * Default constructor for Gson deserialization.
@@ -81,7 +87,7 @@ public class CustomDropEntry {
     public String getNbtData() { return nbtData; }
     public String getRequiredAdvancement() { return requiredAdvancement; }
     public String getRequiredEffect() { return requiredEffect; }
-    public String getRequiredEquipment() { return requiredEquipment; }
+    public List<String> getRequiredEquipment() { return requiredEquipment; }
     public String getRequiredWeather() { return requiredWeather; }
     public String getRequiredTime() { return requiredTime; }
     public String getRequiredDimension() { return requiredDimension; }
@@ -98,6 +104,10 @@ public class CustomDropEntry {
     public int getExtraAmountMin() { return extraAmountMin; }
     public int getExtraAmountMax() { return extraAmountMax; }
     public boolean isEnableDropCount() { return enableDropCount; }
+    public String getComment() { return _comment; }
+    public LootGroup getGroup() { return group; }
+    public ResolvedDrop getResolved() { return resolved; }
+    public long getOrdinal() { return ordinal; }
 
     // Setters
     public void setItemId(String itemId) { this.itemId = itemId; }
@@ -107,7 +117,7 @@ public class CustomDropEntry {
     public void setNbtData(String nbtData) { this.nbtData = nbtData; }
     public void setRequiredAdvancement(String requiredAdvancement) { this.requiredAdvancement = requiredAdvancement; }
     public void setRequiredEffect(String requiredEffect) { this.requiredEffect = requiredEffect; }
-    public void setRequiredEquipment(String requiredEquipment) { this.requiredEquipment = requiredEquipment; }
+    public void setRequiredEquipment(List<String> requiredEquipment) { this.requiredEquipment = requiredEquipment; }
     public void setRequiredWeather(String requiredWeather) { this.requiredWeather = requiredWeather; }
     public void setRequiredTime(String requiredTime) { this.requiredTime = requiredTime; }
     public void setRequiredDimension(String requiredDimension) { this.requiredDimension = requiredDimension; }
@@ -125,6 +135,9 @@ public class CustomDropEntry {
     public void setExtraAmountMin(int extraAmountMin) { this.extraAmountMin = extraAmountMin; }
     public void setExtraAmountMax(int extraAmountMax) { this.extraAmountMax = extraAmountMax; }
     public void setEnableDropCount(boolean enableDropCount) { this.enableDropCount = enableDropCount; }
+    public void setGroup(LootGroup group) { this.group = group; }
+    public void setResolved(ResolvedDrop resolved) { this.resolved = resolved; }
+    public void setOrdinal(long ordinal) { this.ordinal = ordinal; }
 
     // Utility methods
     public boolean hasCommand() { return command != null && !command.isEmpty(); }
@@ -138,6 +151,7 @@ public class CustomDropEntry {
     public boolean hasRequiredDimension() { return requiredDimension != null && !requiredDimension.isEmpty(); }
     public boolean hasRequiredBiome() { return requiredBiome != null && !requiredBiome.isEmpty(); }
     public boolean hasCommandCoolDown() { return commandCoolDown > 0; }
+    public boolean hasGroup() { return group != null && group.hasItems(); }
 
     public boolean hasItem() {
         return itemId != null && !itemId.isEmpty();
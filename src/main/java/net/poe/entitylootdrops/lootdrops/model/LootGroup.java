@@ -0,0 +1,33 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class LootGroup {
+    private int rolls = 1;                                   // Number of items picked each time the group drops
+    private List<LootGroupItem> items = new ArrayList<>();   // Weighted candidates, one is picked per roll
+
+    /**
+     * Default constructor for Gson deserialization.
+     */
+    public LootGroup() {
+        this.rolls = 1;
+        this.items = new ArrayList<>();
+    }
+
+    public LootGroup(int rolls, List<LootGroupItem> items) {
+        this.rolls = rolls;
+        this.items = items != null ? items : new ArrayList<>();
+    }
+
+    // Getters
+    public int getRolls() { return rolls; }
+    public List<LootGroupItem> getItems() { return items; }
+
+    // Setters
+    public void setRolls(int rolls) { this.rolls = rolls; }
+    public void setItems(List<LootGroupItem> items) { this.items = items != null ? items : new ArrayList<>(); }
+
+    // Utility methods
+    public boolean hasItems() { return items != null && !items.isEmpty(); }
+}
@@ -0,0 +1,43 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+public class LootGroupItem {
+    private String itemId;          // The Minecraft item ID (e.g., "minecraft:diamond")
+    private double weight = 1.0;    // Relative weight against the other items of the group
+    private int minAmount = 1;      // Minimum number of items to drop when picked
+    private int maxAmount = 1;      // Maximum number of items to drop when picked
+    private String nbtData;         // Custom NBT data for the item (for enchantments, names, etc.)
+
+    /**
+     * Default constructor for Gson deserialization.
+     */
+    public LootGroupItem() {
+        this.weight = 1.0;
+        this.minAmount = 1;
+        this.maxAmount = 1;
+    }
+
+    public LootGroupItem(String itemId, double weight, int minAmount, int maxAmount) {
+        this.itemId = itemId;
+        this.weight = weight;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+    }
+
+    // Getters
+    public String getItemId() { return itemId; }
+    public double getWeight() { return weight; }
+    public int getMinAmount() { return minAmount; }
+    public int getMaxAmount() { return maxAmount; }
+    public String getNbtData() { return nbtData; }
+
+    // Setters
+    public void setItemId(String itemId) { this.itemId = itemId; }
+    public void setWeight(double weight) { this.weight = weight; }
+    public void setMinAmount(int minAmount) { this.minAmount = minAmount; }
+    public void setMaxAmount(int maxAmount) { this.maxAmount = maxAmount; }
+    public void setNbtData(String nbtData) { this.nbtData = nbtData; }
+
+    // Utility methods
+    public boolean hasItem() { return itemId != null && !itemId.isEmpty(); }
+    public boolean hasNbtData() { return nbtData != null && !nbtData.isEmpty(); }
+}
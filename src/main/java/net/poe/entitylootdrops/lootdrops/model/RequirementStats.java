@@ -0,0 +1,135 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+/**
+ * Pass/fail counters for the requirements of one drop entry, and the order they are currently checked in.
+ * Counters are only written from the server thread. The order may be read from any thread; a reorder
+ * publishes a new array instead of sorting the current one, so readers always see a complete order.
+ */
+public final class RequirementStats {
+    private volatile RequirementType[] order;
+    private final long[] evaluated = new long[RequirementType.all().length];
+    private final long[] rejected = new long[RequirementType.all().length];
+    private long totalEvaluations;
+    private int evaluationsSinceReorder;
+
+    public RequirementStats(RequirementType[] order) {
+        this.order = order;
+    }
+
+    /**
+     * Keeps the learned order and counters of a previous resolve if it checked the same requirements,
+     * otherwise starts from the default order.
+     *
+     * @param previous the stats of the entry before it was resolved again, or null
+     * @param requirements the requirement types of the entry, in the default check order
+     */
+    public static RequirementStats carryOver(RequirementStats previous, RequirementType[] requirements) {
+        if (previous != null && hasSameTypes(previous.order, requirements)) {
+            return previous;
+        }
+        return new RequirementStats(requirements);
+    }
+
+    private static boolean hasSameTypes(RequirementType[] order, RequirementType[] requirements) {
+        if (order.length != requirements.length) {
+            return false;
+        }
+        for (RequirementType type : requirements) {
+            boolean found = false;
+            for (RequirementType existing : order) {
+                if (existing == type) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the requirement types of this entry in the order they should be checked.
+     */
+    public RequirementType[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Records the outcome of a single requirement check.
+     */
+    public void record(RequirementType type, boolean passed) {
+        evaluated[type.ordinal()]++;
+        if (!passed) {
+            rejected[type.ordinal()]++;
+        }
+    }
+
+    /**
+     * Counts one full evaluation of this entry and returns true every interval evaluations.
+     */
+    public boolean countEvaluation(int interval) {
+        totalEvaluations++;
+        if (++evaluationsSinceReorder >= interval) {
+            evaluationsSinceReorder = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the estimated probability that a requirement rejects the drop.
+     * Smoothed so that requirements that have barely been checked are neither favoured nor ignored.
+     */
+    public double getRejectRate(RequirementType type) {
+        return (rejected[type.ordinal()] + 1.0) / (evaluated[type.ordinal()] + 2.0);
+    }
+
+    /**
+     * Gets the observed fraction of checks of a requirement that passed, or 1 if it was never checked.
+     */
+    public double getPassRate(RequirementType type) {
+        long checks = evaluated[type.ordinal()];
+        return checks > 0 ? 1.0 - (double) rejected[type.ordinal()] / checks : 1.0;
+    }
+
+    public long getEvaluated(RequirementType type) {
+        return evaluated[type.ordinal()];
+    }
+
+    public long getTotalEvaluations() {
+        return totalEvaluations;
+    }
+
+    /**
+     * Reorders the checks so the ones with the lowest expected cost per rejection run first,
+     * then halves the counters so the order keeps following changes in the game.
+     *
+     * @param costNanos the estimated cost of each requirement type, indexed by ordinal
+     */
+    public void reorder(double[] costNanos) {
+        RequirementType[] order = this.order.clone();
+        // Insertion sort, the arrays hold at most one entry per requirement type
+        for (int i = 1; i < order.length; i++) {
+            RequirementType current = order[i];
+            double score = score(current, costNanos);
+            int j = i - 1;
+            while (j >= 0 && score(order[j], costNanos) > score) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+        this.order = order;
+
+        for (int i = 0; i < evaluated.length; i++) {
+            evaluated[i] /= 2;
+            rejected[i] /= 2;
+        }
+    }
+
+    private double score(RequirementType type, double[] costNanos) {
+        return costNanos[type.ordinal()] / getRejectRate(type);
+    }
+}
@@ -0,0 +1,23 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+/**
+ * The kinds of player requirements a drop entry can have, in their configured (default) check order.
+ */
+public enum RequirementType {
+    ADVANCEMENT,
+    EFFECT,
+    EQUIPMENT,
+    WEATHER,
+    TIME,
+    DIMENSION,
+    BIOME;
+
+    private static final RequirementType[] VALUES = values();
+
+    /**
+     * Gets all types without allocating a new array.
+     */
+    public static RequirementType[] all() {
+        return VALUES;
+    }
+}
@@ -0,0 +1,157 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.biome.Biome;
+
+/**
+ * The registry-resolved form of a {@link CustomDropEntry}.
+ * Built once when the configuration is loaded so the death path only compares identities.
+ */
+public final class ResolvedDrop {
+    private final Item item;                        // Null if the entry has no item or it is unknown
+    private final ItemStack prototype;              // Prebuilt stack with the parsed NBT, copied for each drop
+    private final ResolvedGroup group;              // Compiled loot group, null if the entry has none
+    private final CommandTemplate command;          // Compiled command, null if the entry has none
+    private final CommandTemplate dropCommand;      // Compiled drop command, null if the entry has none
+    private final ResourceLocation requiredAdvancement;
+    private final int requiredAdvancementIndex;    // Bit of the advancement in the per-player completion cache, -1 if none
+    private final MobEffect requiredEffect;
+    private final BitSet requiredEquipment;         // Registry IDs of the accepted equipment items
+    private final Weather requiredWeather;
+    private final Time requiredTime;
+    private final ResourceKey<Level> requiredDimension;
+    private final ResourceKey<Biome> requiredBiome;
+    private final boolean unsatisfiable;            // A requirement could not be resolved, so it can never pass
+    private final RequirementStats requirementStats; // Check order and hit rates of the requirements above
+
+    public ResolvedDrop(Item item, ItemStack prototype, ResolvedGroup group, CommandTemplate command,
+                        CommandTemplate dropCommand, ResourceLocation requiredAdvancement, int requiredAdvancementIndex,
+                        MobEffect requiredEffect, BitSet requiredEquipment, Weather requiredWeather, Time requiredTime,
+                        ResourceKey<Level> requiredDimension, ResourceKey<Biome> requiredBiome, boolean unsatisfiable,
+                        RequirementStats previousStats) {
+        this.item = item;
+        this.prototype = prototype;
+        this.group = group;
+        this.command = command;
+        this.dropCommand = dropCommand;
+        this.requiredAdvancement = requiredAdvancement;
+        this.requiredAdvancementIndex = requiredAdvancementIndex;
+        this.requiredEffect = requiredEffect;
+        this.requiredEquipment = requiredEquipment;
+        this.requiredWeather = requiredWeather;
+        this.requiredTime = requiredTime;
+        this.requiredDimension = requiredDimension;
+        this.requiredBiome = requiredBiome;
+        this.unsatisfiable = unsatisfiable;
+        this.requirementStats = RequirementStats.carryOver(previousStats, collectRequirements());
+    }
+
+    /**
+     * Lists the requirement types this drop has, in the default check order.
+     */
+    private RequirementType[] collectRequirements() {
+        List<RequirementType> types = new ArrayList<>();
+        if (requiredAdvancement != null) types.add(RequirementType.ADVANCEMENT);
+        if (requiredEffect != null) types.add(RequirementType.EFFECT);
+        if (requiredEquipment != null) types.add(RequirementType.EQUIPMENT);
+        if (requiredWeather != null) types.add(RequirementType.WEATHER);
+        if (requiredTime != null) types.add(RequirementType.TIME);
+        if (requiredDimension != null) types.add(RequirementType.DIMENSION);
+        if (requiredBiome != null) types.add(RequirementType.BIOME);
+        return types.toArray(new RequirementType[0]);
+    }
+
+    // Getters
+    public Item getItem() { return item; }
+    public ItemStack getPrototype() { return prototype; }
+    public ResolvedGroup getGroup() { return group; }
+    public CommandTemplate getCommand() { return command; }
+    public CommandTemplate getDropCommand() { return dropCommand; }
+    public ResourceLocation getRequiredAdvancement() { return requiredAdvancement; }
+    public int getRequiredAdvancementIndex() { return requiredAdvancementIndex; }
+    public MobEffect getRequiredEffect() { return requiredEffect; }
+    public BitSet getRequiredEquipment() { return requiredEquipment; }
+    public Weather getRequiredWeather() { return requiredWeather; }
+    public Time getRequiredTime() { return requiredTime; }
+    public ResourceKey<Level> getRequiredDimension() { return requiredDimension; }
+    public ResourceKey<Biome> getRequiredBiome() { return requiredBiome; }
+    public boolean isUnsatisfiable() { return unsatisfiable; }
+    public RequirementStats getRequirementStats() { return requirementStats; }
+
+    /**
+     * Creates a new stack of the drop item, or returns null if the entry has no valid item.
+     * The prototype is never handed out, so its tag cannot be modified by the caller.
+     */
+    public ItemStack createStack(int amount) {
+        return prototype != null ? prototype.copyWithCount(amount) : null;
+    }
+
+    /**
+     * Weather values accepted by requiredWeather.
+     */
+    public enum Weather {
+        CLEAR, RAIN, THUNDER;
+
+        /**
+         * Parses a configured weather value, or returns null if it is unknown.
+         */
+        public static Weather fromString(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "clear": return CLEAR;
+                case "rain": return RAIN;
+                case "thunder": return THUNDER;
+                default: return null;
+            }
+        }
+
+        public boolean matches(boolean raining, boolean thundering) {
+            switch (this) {
+                case CLEAR: return !raining && !thundering;
+                case RAIN: return raining && !thundering;
+                default: return thundering;
+            }
+        }
+    }
+
+    /**
+     * Time of day values accepted by requiredTime.
+     */
+    public enum Time {
+        DAY, NIGHT, DAWN, DUSK;
+
+        /**
+         * Parses a configured time value, or returns null if it is unknown.
+         */
+        public static Time fromString(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "day": return DAY;
+                case "night": return NIGHT;
+                case "dawn": return DAWN;
+                case "dusk": return DUSK;
+                default: return null;
+            }
+        }
+
+        /**
+         * Checks the time of day, given as ticks in [0, 24000).
+         */
+        public boolean matches(long time) {
+            switch (this) {
+                case DAY: return time >= 0 && time < 12000;
+                case NIGHT: return time >= 12000 && time < 24000;
+                case DAWN: return time >= 23000 || time < 1000;
+                default: return time >= 11000 && time < 13000;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+import java.util.random.RandomGenerator;
+
+import net.minecraft.world.item.ItemStack;
+import net.poe.entitylootdrops.util.AliasTable;
+
+/**
+ * The compiled form of a {@link LootGroup}: prebuilt stacks and an alias table over the item weights.
+ * Items that could not be resolved keep their weight and drop nothing, so the configured odds
+ * of the other items do not change.
+ */
+public final class ResolvedGroup {
+    private final int rolls;
+    private final AliasTable table;
+    private final ItemStack[] prototypes;   // Null for unknown items
+    private final String[] itemIds;
+    private final int[] minAmounts;
+    private final int[] maxAmounts;
+
+    public ResolvedGroup(int rolls, AliasTable table, ItemStack[] prototypes, String[] itemIds,
+                         int[] minAmounts, int[] maxAmounts) {
+        this.rolls = rolls;
+        this.table = table;
+        this.prototypes = prototypes;
+        this.itemIds = itemIds;
+        this.minAmounts = minAmounts;
+        this.maxAmounts = maxAmounts;
+    }
+
+    // Getters
+    public int getRolls() { return rolls; }
+    public int size() { return prototypes.length; }
+    public String getItemId(int index) { return itemIds[index]; }
+    public int getMinAmount(int index) { return minAmounts[index]; }
+    public int getMaxAmount(int index) { return maxAmounts[index]; }
+    public double getProbability(int index) { return table.getProbability(index); }
+
+    /**
+     * Picks the index of one item.
+     */
+    public int pick(RandomGenerator random) {
+        return table.sample(random);
+    }
+
+    /**
+     * Creates a new stack of a group item, or returns null if the item is unknown.
+     */
+    public ItemStack createStack(int index, int amount) {
+        ItemStack prototype = prototypes[index];
+        return prototype != null ? prototype.copyWithCount(amount) : null;
+    }
+}
@@ -0,0 +1,60 @@
+package net.poe.entitylootdrops.lootdrops.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reads a config value that may be written either as a single string or as a list of strings,
+ * so existing single-value configs keep working. A single value is written back as a plain string.
+ */
+public class StringListAdapter extends TypeAdapter<List<String>> {
+    @Override
+    public void write(JsonWriter out, List<String> value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else if (value.size() == 1) {
+            out.value(value.get(0));
+        } else {
+            out.beginArray();
+            for (String element : value) {
+                out.value(element);
+            }
+            out.endArray();
+        }
+    }
+
+    @Override
+    public List<String> read(JsonReader in) throws IOException {
+        List<String> values = new ArrayList<>();
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            values.add(in.nextString());
+            return values;
+        }
+        if (token != JsonToken.BEGIN_ARRAY) {
+            throw new JsonParseException("Expected a string or a list of strings at " + in.getPath());
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+            } else {
+                values.add(in.nextString());
+            }
+        }
+        in.endArray();
+        return values;
+    }
+}
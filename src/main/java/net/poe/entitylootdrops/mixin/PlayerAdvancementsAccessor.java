@@ -0,0 +1,15 @@
+package net.poe.entitylootdrops.mixin;
+
+import java.util.Map;
+
+import net.minecraft.advancements.Advancement;
+import net.minecraft.advancements.AdvancementProgress;
+import net.minecraft.server.PlayerAdvancements;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(PlayerAdvancements.class)
+public interface PlayerAdvancementsAccessor {
+    @Accessor("progress")
+    Map<Advancement, AdvancementProgress> getProgress();
+}
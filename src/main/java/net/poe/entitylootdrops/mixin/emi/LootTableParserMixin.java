@@ -23,11 +23,11 @@ import net.minecraft.world.level.storage.loot.providers.number.ConstantValue;
 import net.minecraft.world.level.storage.loot.providers.number.NumberProvider;
 import net.minecraft.world.level.storage.loot.providers.number.UniformGenerator;
 import net.minecraft.world.entity.EntityType;
-import net.minecraft.world.entity.MobCategory;
 import net.minecraftforge.registries.ForgeRegistries;
 import net.poe.entitylootdrops.LootTablePools2;
 import net.poe.entitylootdrops.SetItemCountFunctionNumberProviderAccessor;
 import net.poe.entitylootdrops.lootdrops.LootConfig;
+import net.poe.entitylootdrops.lootdrops.config.EntityMatcher;
 import net.poe.entitylootdrops.lootdrops.model.EntityDropEntry;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -86,7 +86,7 @@ public abstract class LootTableParserMixin {
     private static int addLootPool(LootTable mobTable, ResourceLocation mobTableId, EntityType<?> entityType) {
         List<LootPool> lootPools = new ArrayList<>();
         for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (entitylootdrops$shouldApplyDrop(drop, mobTableId.toString(), entityType) && drop.hasItem()) {
+            if (entitylootdrops$shouldApplyDrop(drop, mobTableId, entityType) && drop.hasItem()) {
                 addAdvancedLootPool(lootPools, drop);
             }
         }
@@ -110,7 +110,7 @@ public abstract class LootTableParserMixin {
         // Phase 1: Handle vanilla drop modifications and mod filtering
         boolean shouldCancelVanillaDrops = false;
         for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (entitylootdrops$shouldApplyDrop(drop, mobId.toString(), entityType)) {
+            if (entitylootdrops$shouldApplyDrop(drop, mobId, entityType)) {
                 // Check mod filtering - since EntityDropEntry extends CustomDropEntry, no instanceof needed
                 if (!drop.getAllowModIDs().isEmpty()) {
                     if (!entitylootdrops$isModAllowed(mobId, drop.getAllowModIDs())) {
@@ -131,14 +131,14 @@ public abstract class LootTableParserMixin {
 
         // Phase 2: Process extra vanilla drops
         for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (entitylootdrops$shouldApplyDrop(drop, mobId.toString(), entityType) && drop.getExtraDropChance() > 0) {
+            if (entitylootdrops$shouldApplyDrop(drop, mobId, entityType) && drop.getExtraDropChance() > 0) {
                 addExtraDrop(lootPools, drop);
             }
         }
 
         // Phase 3: Process custom drops with advanced features
         for (EntityDropEntry drop : LootConfig.getNormalDrops()) {
-            if (entitylootdrops$shouldApplyDrop(drop, mobId.toString(), entityType) && drop.hasItem()) {
+            if (entitylootdrops$shouldApplyDrop(drop, mobId, entityType) && drop.hasItem()) {
                 addAdvancedLootPool(lootPools, drop);
             }
         }
@@ -153,33 +153,9 @@ public abstract class LootTableParserMixin {
     }
 
     @Unique
-    private static boolean entitylootdrops$shouldApplyDrop(EntityDropEntry drop, String entityId, EntityType<?> entityType) {
-        String dropEntityId = drop.getEntityId();
-
-        // Direct entity match
-        if (dropEntityId.equals(entityId)) {
-            return true;
-        }
-
-        // Global category matches
-        if (entityType.getCategory() == MobCategory.MONSTER) {
-            if (dropEntityId.equals("Global_Hostile") || dropEntityId.equals("Global_Monster")) {
-                return true;
-            }
-        }
-
-        if (entityType.getCategory() == MobCategory.CREATURE || entityType.getCategory() == MobCategory.AMBIENT) {
-            if (dropEntityId.equals("Global_Passive") || dropEntityId.equals("Global_Animal")) {
-                return true;
-            }
-        }
-
-        // Universal global match
-        if (dropEntityId.equals("Global_All") || dropEntityId.equals("Global")) {
-            return true;
-        }
-
-        return false;
+    private static boolean entitylootdrops$shouldApplyDrop(EntityDropEntry drop, ResourceLocation entityId, EntityType<?> entityType) {
+        // Same entity ID, tag, wildcard and Global_* matching as the drops themselves
+        return EntityMatcher.of(drop.getEntityId()).matches(entityType, entityId);
     }
 
     @Unique
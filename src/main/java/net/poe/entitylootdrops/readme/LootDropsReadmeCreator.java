@@ -182,6 +182,13 @@ public class LootDropsReadmeCreator {
             readme.append("  }\n");
             readme.append("]\n\n");
 
+            readme.append("entityId can also match several entities at once:\n");
+            readme.append("- \"#minecraft:skeletons\": every entity in an entity type tag\n");
+            readme.append("- \"alexsmobs:*\": every entity of a mod\n");
+            readme.append("- \"Global_Hostile\" (or \"Global_Monster\"): every monster\n");
+            readme.append("- \"Global_Passive\" (or \"Global_Animal\"): every creature and ambient mob\n");
+            readme.append("- \"Global_All\" (or \"Global\"): every entity\n\n");
+
             readme.append("CUSTOM FILE LOADING:\n");
             readme.append("===================\n");
             readme.append("- ANY .json file in the correct directory will be loaded\n");
@@ -477,6 +484,7 @@ public class LootDropsReadmeCreator {
             readme.append("Create any .json file in this directory or subfolders:\n");
             readme.append("- Files are automatically loaded on /lootdrops reload\n");
             readme.append("- No server restart required\n");
+            readme.append("- With \"watchConfigFiles\": true in EventConfig.json, saved changes are applied automatically\n");
             readme.append("- Use any filename that ends with .json\n\n");
 
             readme.append("NESTED FOLDER SUPPORT\n");
@@ -550,7 +558,8 @@ public class LootDropsReadmeCreator {
             readme.append("Required Conditions:\n");
             readme.append("- requiredAdvancement: Player must have specific advancement\n");
             readme.append("- requiredEffect: Player must have potion effect\n");
-            readme.append("- requiredEquipment: Player must wear specific equipment\n");
+            readme.append("- requiredEquipment: Player must hold or wear this item. Accepts item tags\n");
+            readme.append("  and lists, any of which is enough: [\"#minecraft:swords\", \"minecraft:trident\"]\n");
             readme.append("- requiredDimension: Drop only in specific dimension\n");
             readme.append("- requiredBiome: Drop only in specific biome\n");
             readme.append("- requiredWeather: Drop only in specific weather\n");
@@ -562,7 +571,14 @@ public class LootDropsReadmeCreator {
             readme.append("- commandChance: Chance for command execution\n");
             readme.append("- dropCommand: Execute command specific to this drop\n");
             readme.append("- allowDefaultDrops: Control vanilla/mod drops\n");
-            readme.append("- allowModIDs: Whitelist specific mod drops\n\n");
+            readme.append("- allowModIDs: Whitelist specific mod drops\n");
+            readme.append("- group: Weighted loot group used instead of itemId. When the entry drops\n");
+            readme.append("  (dropChance and all requirements apply), \"rolls\" items are picked from\n");
+            readme.append("  \"items\", each with probability weight / total weight. Every item has\n");
+            readme.append("  itemId, weight, minAmount, maxAmount and optional nbtData.\n");
+            readme.append("  Example: \"group\": {\"rolls\": 2, \"items\": [\n");
+            readme.append("    {\"itemId\": \"minecraft:diamond\", \"weight\": 1},\n");
+            readme.append("    {\"itemId\": \"minecraft:iron_ingot\", \"weight\": 10, \"minAmount\": 1, \"maxAmount\": 3}]}\n\n");
 
             readme.append("ORGANIZATION BEST PRACTICES:\n");
             readme.append("============================\n");
@@ -642,6 +658,8 @@ public class LootDropsReadmeCreator {
             readme.append("- Use requirePlayerKill: true for valuable drops\n");
             readme.append("- Complex NBT data may impact performance on busy servers\n");
             readme.append("- Commands with every drop can cause lag - use commandChance\n");
+            readme.append("- Set \"deferCommands\": true in EventConfig.json to run drop commands at the end of the tick,\n");
+            readme.append("  spread over several ticks by maxCommandsPerTick and commandTickBudgetMs (off by default)\n");
             readme.append("- Test configurations on your server before deploying\n\n");
 
             readme.append("REGENERATE EXAMPLES:\n");
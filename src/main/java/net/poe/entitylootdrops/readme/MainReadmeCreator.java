@@ -95,6 +95,7 @@ public class MainReadmeCreator {
             readme.append("--------\n");
             readme.append("Entity Loot Drops:\n");
             readme.append("  /lootdrops reload - Reload all configurations (loads ANY .json files)\n");
+            readme.append("  /lootdrops cache rebuild - Rebuild the drop cache (drops.cache) from the .json files\n");
             readme.append("  /lootdrops event <name> <true|false> - Toggle event\n");
             readme.append("  /lootdrops event dropchance <true|false> - Toggle double drop chance\n");
             readme.append("  /lootdrops event doubledrops <true|false> - Toggle double drops\n");
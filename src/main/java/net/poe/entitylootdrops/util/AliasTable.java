@@ -0,0 +1,100 @@
+package net.poe.entitylootdrops.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks an index with probability proportional to its weight in constant time.
+ * Built with Vose's alias method ("A linear algorithm for generating random numbers with a given
+ * distribution", 1991): each column holds its own index with some probability and an alias otherwise,
+ * so a pick is one uniform column plus one biased coin, whatever the number of weights.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+    private final double[] normalized;
+
+    /**
+     * Builds the table from non-negative weights; negative and non-finite weights count as zero.
+     *
+     * @throws IllegalArgumentException if there are no weights or they sum to zero
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0.0;
+        for (double weight : weights) {
+            total += sanitize(weight);
+        }
+        if (n == 0 || total <= 0.0) {
+            throw new IllegalArgumentException("Alias table needs at least one positive weight");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        normalized = new double[n];
+
+        // Scale so the average column is exactly 1, then split into under- and overfull columns
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            normalized[i] = sanitize(weights[i]) / total;
+            scaled[i] = normalized[i] * n;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill every underfull column with the excess of an overfull one
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    private static double sanitize(double weight) {
+        return weight > 0.0 && Double.isFinite(weight) ? weight : 0.0;
+    }
+
+    /**
+     * Picks an index.
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Gets the probability of picking an index.
+     */
+    public double getProbability(int index) {
+        return normalized[index];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+}
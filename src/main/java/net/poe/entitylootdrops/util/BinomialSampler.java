@@ -0,0 +1,158 @@
+package net.poe.entitylootdrops.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples from the binomial and from sums of uniform distributions in time independent of the number of trials.
+ * Small means use inversion; larger ones use Hörmann's BTRD rejection method
+ * ("The generation of binomial random variates", 1993).
+ */
+public final class BinomialSampler {
+    // Below this mean inversion is faster than BTRD
+    private static final double INVERSION_THRESHOLD = 10.0;
+    // Up to this many terms a sum of uniform amounts is drawn exactly
+    private static final int EXACT_SUM_LIMIT = 16;
+
+    // Stirling series correction fc(k) = ln(k!) - [(k + 1/2) ln(k + 1) - (k + 1) + ln(2 pi) / 2] for k < 10
+    private static final double[] STIRLING_CORRECTION = {
+            0.08106146679532726, 0.04134069595540929, 0.02767792568499834, 0.02079067210376509,
+            0.01664469118982119, 0.01387612882307075, 0.01189670994589177, 0.01041126526197209,
+            0.009255462182712733, 0.008330563433362871
+    };
+
+    private BinomialSampler() {
+    }
+
+    /**
+     * Draws the number of successes in n independent trials that each succeed with probability p.
+     */
+    public static int binomial(RandomGenerator random, int n, double p) {
+        if (n <= 0 || p <= 0.0) {
+            return 0;
+        }
+        if (p >= 1.0) {
+            return n;
+        }
+        if (p > 0.5) {
+            return n - binomial(random, n, 1.0 - p);
+        }
+        if (n * p < INVERSION_THRESHOLD) {
+            return inversion(random, n, p);
+        }
+        return btrd(random, n, p);
+    }
+
+    /**
+     * Draws the sum of count independent uniform integers in [min, max].
+     * Exact for small counts, otherwise a normal approximation clamped to the possible range.
+     */
+    public static long uniformSum(RandomGenerator random, int count, int min, int max) {
+        if (count <= 0) {
+            return 0;
+        }
+        if (max <= min) {
+            return (long) count * min;
+        }
+
+        int width = max - min + 1;
+        if (count <= EXACT_SUM_LIMIT) {
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += min + random.nextInt(width);
+            }
+            return sum;
+        }
+
+        double mean = count * (min + max) / 2.0;
+        double variance = count * ((double) width * width - 1.0) / 12.0;
+        long sum = Math.round(mean + Math.sqrt(variance) * random.nextGaussian());
+        return Math.max((long) count * min, Math.min((long) count * max, sum));
+    }
+
+    /**
+     * Sequential search through the cumulative distribution, expected O(n * p).
+     */
+    private static int inversion(RandomGenerator random, int n, double p) {
+        double q = 1.0 - p;
+        double s = p / q;
+        double a = (n + 1) * s;
+        while (true) {
+            double r = Math.pow(q, n);
+            double u = random.nextDouble();
+            int x = 0;
+            while (u > r) {
+                u -= r;
+                x++;
+                if (x > n) {
+                    break; // Rounding left some probability mass over, draw again
+                }
+                r *= a / x - s;
+            }
+            if (x <= n) {
+                return x;
+            }
+        }
+    }
+
+    /**
+     * Transformed rejection with decomposition, O(1) expected time for n * p >= 10 and p <= 0.5.
+     */
+    private static int btrd(RandomGenerator random, int n, double p) {
+        double spq = Math.sqrt(n * p * (1.0 - p));
+        double b = 1.15 + 2.53 * spq;
+        double a = -0.0873 + 0.0248 * b + 0.01 * p;
+        double c = n * p + 0.5;
+        double vr = 0.92 - 4.2 / b;
+        double urvr = 0.86 * vr;
+        double alpha = (2.83 + 5.1 / b) * spq;
+        double lpq = Math.log(p / (1.0 - p));
+        int m = (int) Math.floor((n + 1) * p);
+        double h = logFactorial(m) + logFactorial(n - m);
+
+        while (true) {
+            double u;
+            double v = random.nextDouble();
+            if (v <= urvr) {
+                u = v / vr - 0.43;
+                return (int) Math.floor((2.0 * a / (0.5 - Math.abs(u)) + b) * u + c);
+            }
+
+            if (v >= vr) {
+                u = random.nextDouble() - 0.5;
+            } else {
+                u = v / vr - 0.93;
+                u = Math.signum(u) * 0.5 - u;
+                v = random.nextDouble() * vr;
+            }
+
+            double us = 0.5 - Math.abs(u);
+            int k = (int) Math.floor((2.0 * a / us + b) * u + c);
+            if (k < 0 || k > n) {
+                continue;
+            }
+
+            // Accept if v lies under the scaled probability ratio f(k) / f(m)
+            v = v * alpha / (a / (us * us) + b);
+            double logRatio = h - logFactorial(k) - logFactorial(n - k) + (k - m) * lpq;
+            if (Math.log(v) <= logRatio) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * ln(k!) via Stirling's series with a table for small k.
+     */
+    private static double logFactorial(int k) {
+        return (k + 0.5) * Math.log(k + 1.0) - (k + 1.0) + 0.5 * Math.log(2.0 * Math.PI) + stirlingCorrection(k);
+    }
+
+    private static double stirlingCorrection(int k) {
+        if (k < STIRLING_CORRECTION.length) {
+            return STIRLING_CORRECTION[k];
+        }
+        double inv = 1.0 / (k + 1.0);
+        double inv2 = inv * inv;
+        return (1.0 / 12.0 - (1.0 / 360.0 - inv2 / 1260.0) * inv2) * inv;
+    }
+}
@@ -0,0 +1,65 @@
+package net.poe.entitylootdrops.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraftforge.registries.ForgeRegistries;
+
+/**
+ * Gives every namespace a small stable index and caches the namespace index of each item by identity,
+ * so per-drop mod checks are a map lookup on the item and a bit test instead of a registry key lookup
+ * and a string comparison. Namespaces may be indexed from any thread; items are only looked up on the server thread.
+ */
+public final class ItemNamespaces {
+    // Returned for items that are not registered
+    public static final int UNKNOWN = -1;
+
+    private static final Map<String, Integer> NAMESPACES = new ConcurrentHashMap<>();
+    private static final List<String> NAMES = new CopyOnWriteArrayList<>();
+    private static final Reference2IntOpenHashMap<Item> ITEMS = new Reference2IntOpenHashMap<>();
+
+    static {
+        ITEMS.defaultReturnValue(Integer.MIN_VALUE);
+    }
+
+    private ItemNamespaces() {
+    }
+
+    /**
+     * Gets the index of a namespace, assigning the next free one the first time it is seen.
+     */
+    public static synchronized int indexOfNamespace(String namespace) {
+        Integer index = NAMESPACES.get(namespace);
+        if (index == null) {
+            index = NAMES.size();
+            NAMES.add(namespace);
+            NAMESPACES.put(namespace, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the namespace with the given index.
+     */
+    public static String getNamespace(int index) {
+        return NAMES.get(index);
+    }
+
+    /**
+     * Gets the namespace index of an item, or {@link #UNKNOWN} if it is not registered.
+     */
+    public static int indexOfItem(Item item) {
+        int index = ITEMS.getInt(item);
+        if (index == Integer.MIN_VALUE) {
+            ResourceLocation itemId = ForgeRegistries.ITEMS.getKey(item);
+            index = itemId != null ? indexOfNamespace(itemId.getNamespace()) : UNKNOWN;
+            ITEMS.put(item, index);
+        }
+        return index;
+    }
+}
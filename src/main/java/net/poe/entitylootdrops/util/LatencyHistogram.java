@@ -0,0 +1,93 @@
+package net.poe.entitylootdrops.util;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of nanosecond durations with HDR-style log-linear buckets.
+ * Every power of two is split into {@value #SUB_BUCKETS} equal buckets, so any recorded value is
+ * reported within about 3% while the whole range of a long fits in under two thousand counters.
+ * Recording is a few shifts and an array increment; it is not thread-safe.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalNanos;
+    private long max;
+
+    /**
+     * Records one duration; negative values count as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalNanos += value;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Gets the value below which the given fraction of recorded durations fall, as the upper
+     * edge of the matching bucket, never above the largest recorded value.
+     *
+     * @param quantile a fraction in [0, 1]
+     */
+    public long getPercentile(double quantile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperEdgeOf(i));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() { return totalCount; }
+    public long getMax() { return max; }
+    public long getTotalNanos() { return totalNanos; }
+
+    public double getMean() {
+        return totalCount > 0 ? (double) totalNanos / totalCount : 0.0;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalNanos = 0;
+        max = 0;
+    }
+
+    /**
+     * Values below {@value #SUB_BUCKETS} get a bucket each; above that the exponent picks the
+     * group and the next {@value #SUB_BUCKET_BITS} bits below the leading one pick the bucket.
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperEdgeOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        long edge = ((subBucket + 1) << shift) - 1;
+        return edge < 0 ? Long.MAX_VALUE : edge; // The top buckets reach past Long.MAX_VALUE
+    }
+}